@@ -0,0 +1,100 @@
+package com.fizzexual.damagetracker.benchmarks;
+
+import com.fizzexual.damagetracker.utils.ColorTranslator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link ColorTranslator} with the chained replace/regex conversions it replaced.
+ * <p>
+ * Run with {@code java -jar target/benchmarks.jar ColorTranslatorBenchmark}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ColorTranslatorBenchmark {
+
+    /**
+     * Sample input, from plain text to a message dense with codes.
+     */
+    @Param({"plain", "legacy", "hex", "victory"})
+    public String sample;
+
+    private String legacyInput;
+    private String miniMessageInput;
+    private String prefixInput;
+
+    @Setup
+    public void setup() {
+        switch (sample) {
+            case "plain" -> {
+                legacyInput = "The dragon has been slain by the brave adventurers of the realm";
+                miniMessageInput = legacyInput;
+                prefixInput = "[Member] ";
+            }
+            case "legacy" -> {
+                legacyInput = "&6&lBOSS DEFEATED &r&7- &eThe dragon has been slain! &a1. &fSteve &7(&c52.3%&7)";
+                miniMessageInput = "<gold><bold>BOSS DEFEATED</bold></gold> <gray>-</gray> <yellow>The dragon has been slain!</yellow>";
+                prefixInput = "§6[§eVIP§6] §f";
+            }
+            case "hex" -> {
+                legacyInput = "&#ff5555Fire &#55ff55Nature &#5555ffWater &#ffff55Light &#aa00aaVoid &rdone";
+                miniMessageInput = "<#ff5555>Fire</#ff5555> <#55ff55>Nature</#55ff55> <#5555ff>Water</#5555ff>";
+                prefixInput = "§x§f§f§5§5§5§5[Admin] §r";
+            }
+            default -> {
+                legacyInput = "\n&6&l⚔ BOSS DEFEATED ⚔\n&eThe Ender Dragon has been slain!\n\n&bTop Damage Dealers:\n"
+                        + "&61. &fSteve&7: &e12,345 &7(&a45.2%&7)\n&72. &fAlex&7: &e8,765 &7(&a32.1%&7)\n"
+                        + "&c3. &fNotch&7: &e6,200 &7(&a22.7%&7)\n\n&7Your damage: &e#1 &7- &e12,345 &7(&a45.2%&7)\n";
+                miniMessageInput = "<gold><bold>⚔ BOSS DEFEATED ⚔</bold></gold>\n<yellow>The Ender Dragon has been slain!</yellow>\n"
+                        + "<aqua>Top Damage Dealers:</aqua>\n<gold>1.</gold> <white>Steve</white><gray>: 12,345</gray>\n"
+                        + "<gray>2.</gray> <white>Alex</white><gray>: 8,765</gray>\n<red>3.</red> <white>Notch</white><gray>: 6,200</gray>";
+                prefixInput = "§c[§4Owner§c] §e";
+            }
+        }
+    }
+
+    @Benchmark
+    public String legacyToMiniMessageBaseline() {
+        return LegacyColorConversion.convertLegacyAndHexToMiniMessage(legacyInput);
+    }
+
+    @Benchmark
+    public String legacyToMiniMessage() {
+        return ColorTranslator.legacyToMiniMessage(legacyInput);
+    }
+
+    @Benchmark
+    public String miniMessageToLegacyBaseline() {
+        return LegacyColorConversion.miniMessageToLegacy(miniMessageInput);
+    }
+
+    @Benchmark
+    public String miniMessageToLegacy() {
+        return ColorTranslator.miniMessageToLegacy(miniMessageInput);
+    }
+
+    @Benchmark
+    public String prefixBaseline() {
+        return LegacyColorConversion.convertPrefix(prefixInput);
+    }
+
+    @Benchmark
+    public String prefix() {
+        return ColorTranslator.sectionToMiniMessage(prefixInput);
+    }
+}
@@ -0,0 +1,97 @@
+package com.fizzexual.damagetracker.benchmarks;
+
+import com.fizzexual.damagetracker.managers.DamageManager;
+import org.bukkit.entity.Player;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Damage recording and ranking reads of {@link DamageManager} during a raid.
+ * <p>
+ * Run with {@code java -jar target/benchmarks.jar DamageTrackingBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DamageTrackingBenchmark {
+    private static final String BOSS_ID = "BENCHMARK_BOSS";
+
+    @Param({"10", "100", "1000"})
+    public int participants;
+
+    private DamageManager damageManager;
+    private Player[] players;
+    private UUID mobUuid;
+    private SplittableRandom random;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        damageManager = new DamageManager("%.0f", "%.1f");
+        players = Raids.players(participants, 42L);
+        mobUuid = UUID.randomUUID();
+        random = new SplittableRandom(42L);
+
+        // Every participant has already hit the boss a few times
+        for (int round = 0; round < 5; round++) {
+            for (Player player : players) {
+                damageManager.addTrackedDamage(mobUuid, BOSS_ID, player, 1.0 + random.nextDouble(20.0));
+            }
+        }
+        damageManager.publishSnapshots();
+    }
+
+    private Player nextPlayer() {
+        Player player = players[next];
+        next = next + 1 == players.length ? 0 : next + 1;
+        return player;
+    }
+
+    /**
+     * A single hit: updates the instance ledger and the merged ranking of the boss.
+     */
+    @Benchmark
+    public double addTrackedDamage() {
+        return damageManager.addTrackedDamage(mobUuid, BOSS_ID, nextPlayer(), 1.0 + random.nextDouble(20.0));
+    }
+
+    /**
+     * A hit followed by the per-tick snapshot publish, the worst case of one hit per tick.
+     */
+    @Benchmark
+    public Object addTrackedDamageAndPublish() {
+        damageManager.addTrackedDamage(mobUuid, BOSS_ID, nextPlayer(), 1.0 + random.nextDouble(20.0));
+        damageManager.publishSnapshots();
+        return damageManager.getTrackedBossLedger(BOSS_ID).snapshot();
+    }
+
+    @Benchmark
+    public List<Map.Entry<UUID, Double>> getTrackedTopDamage() {
+        return damageManager.getTrackedTopDamage(BOSS_ID, 10);
+    }
+
+    @Benchmark
+    public Optional<Integer> getTrackedPlayerPosition() {
+        return damageManager.getTrackedPlayerPosition(BOSS_ID, nextPlayer().getUniqueId());
+    }
+}
@@ -0,0 +1,97 @@
+package com.fizzexual.damagetracker.benchmarks;
+
+import org.bukkit.ChatColor;
+
+/**
+ * The chained replace/regex color conversions that {@code ColorTranslator} replaced,
+ * kept as the baseline for {@link ColorTranslatorBenchmark}.
+ */
+final class LegacyColorConversion {
+
+    private LegacyColorConversion() {
+    }
+
+    static String convertLegacyAndHexToMiniMessage(String input) {
+        if (input == null) return null;
+        String result = ChatColor.translateAlternateColorCodes('&', input);
+        result = result.replaceAll("&#([A-Fa-f0-9]{6})", "<#$1>");
+        return convertLegacyToMiniMessage(result);
+    }
+
+    static String convertLegacyToMiniMessage(String input) {
+        return input.replace("§0", "<black>")
+                   .replace("§1", "<dark_blue>")
+                   .replace("§2", "<dark_green>")
+                   .replace("§3", "<dark_aqua>")
+                   .replace("§4", "<dark_red>")
+                   .replace("§5", "<dark_purple>")
+                   .replace("§6", "<gold>")
+                   .replace("§7", "<gray>")
+                   .replace("§8", "<dark_gray>")
+                   .replace("§9", "<blue>")
+                   .replace("§a", "<green>")
+                   .replace("§b", "<aqua>")
+                   .replace("§c", "<red>")
+                   .replace("§d", "<light_purple>")
+                   .replace("§e", "<yellow>")
+                   .replace("§f", "<white>")
+                   .replace("§l", "<bold>")
+                   .replace("§m", "<strikethrough>")
+                   .replace("§n", "<underline>")
+                   .replace("§o", "<italic>")
+                   .replace("§r", "<reset>");
+    }
+
+    static String miniMessageToLegacy(String input) {
+        if (input == null) return null;
+
+        return input.replace("<black>", "§0")
+                   .replace("<dark_blue>", "§1")
+                   .replace("<dark_green>", "§2")
+                   .replace("<dark_aqua>", "§3")
+                   .replace("<dark_red>", "§4")
+                   .replace("<dark_purple>", "§5")
+                   .replace("<gold>", "§6")
+                   .replace("<gray>", "§7")
+                   .replace("<dark_gray>", "§8")
+                   .replace("<blue>", "§9")
+                   .replace("<green>", "§a")
+                   .replace("<aqua>", "§b")
+                   .replace("<red>", "§c")
+                   .replace("<light_purple>", "§d")
+                   .replace("<yellow>", "§e")
+                   .replace("<white>", "§f")
+                   .replace("<bold>", "§l")
+                   .replace("<strikethrough>", "§m")
+                   .replace("<underline>", "§n")
+                   .replace("<italic>", "§o")
+                   .replace("<reset>", "§r")
+                   .replace("</black>", "§r")
+                   .replace("</dark_blue>", "§r")
+                   .replace("</dark_green>", "§r")
+                   .replace("</dark_aqua>", "§r")
+                   .replace("</dark_red>", "§r")
+                   .replace("</dark_purple>", "§r")
+                   .replace("</gold>", "§r")
+                   .replace("</gray>", "§r")
+                   .replace("</dark_gray>", "§r")
+                   .replace("</blue>", "§r")
+                   .replace("</green>", "§r")
+                   .replace("</aqua>", "§r")
+                   .replace("</red>", "§r")
+                   .replace("</light_purple>", "§r")
+                   .replace("</yellow>", "§r")
+                   .replace("</white>", "§r")
+                   .replace("</bold>", "§r")
+                   .replace("</strikethrough>", "§r")
+                   .replace("</underline>", "§r")
+                   .replace("</italic>", "§r")
+                   .replace("</reset>", "")
+                   .replaceAll("<#([A-Fa-f0-9]{6})>", "§x§$1")
+                   .replaceAll("</#([A-Fa-f0-9]{6})>", "§r");
+    }
+
+    static String convertPrefix(String prefix) {
+        return prefix.replaceAll("§([0-9a-fk-or])", "<$1>");
+    }
+}
@@ -0,0 +1,61 @@
+package com.fizzexual.damagetracker.benchmarks;
+
+import com.fizzexual.damagetracker.utils.MessageUtils;
+import net.kyori.adventure.text.Component;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Message parsing in {@link MessageUtils}, with and without the component cache.
+ * <p>
+ * Run with {@code java -jar target/benchmarks.jar MessageBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MessageBenchmark {
+    private static final String HELP_LINE = "<aqua>/ed top <boss></aqua> <gray>- View boss damage leaderboard</gray>";
+    private static final String HOLOGRAM_LINE = "<yellow>#1</yellow> <white>Steve</white> - <gold>12,345</gold> <gray>(45.2%)</gray>";
+    private static final String CENTERED_LINE = "<centered><gold><bold>⚔ BOSS DEFEATED ⚔</bold></gold></centered>";
+
+    @Setup
+    public void setup() {
+        MessageUtils.configureCache(512, 262144);
+    }
+
+    /**
+     * A static message parsed again and again, answered from the cache after the first call.
+     */
+    @Benchmark
+    public Component deserializeCached() {
+        return MessageUtils.deserialize(HELP_LINE);
+    }
+
+    @Benchmark
+    public Component deserializeUncached() {
+        return MessageUtils.deserializeUncached(HELP_LINE);
+    }
+
+    @Benchmark
+    public Component deserializeCenteredUncached() {
+        return MessageUtils.deserializeUncached(CENTERED_LINE);
+    }
+
+    @Benchmark
+    public String miniMessageToLegacy() {
+        return MessageUtils.miniMessageToLegacy(HOLOGRAM_LINE);
+    }
+}
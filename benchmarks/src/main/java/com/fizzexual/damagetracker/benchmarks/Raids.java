@@ -0,0 +1,63 @@
+package com.fizzexual.damagetracker.benchmarks;
+
+import com.fizzexual.damagetracker.api.KillSnapshot;
+import org.bukkit.entity.Player;
+
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * Synthetic raid data shared by the benchmarks.
+ */
+final class Raids {
+
+    private Raids() {
+    }
+
+    /**
+     * Creates players that only answer {@code getUniqueId()} and {@code getName()},
+     * which is all the damage tracking code reads from them.
+     *
+     * @param count Number of players.
+     * @param seed Seed for the player UUIDs.
+     * @return The players.
+     */
+    static Player[] players(int count, long seed) {
+        Random random = new Random(seed);
+        Player[] players = new Player[count];
+        for (int i = 0; i < count; i++) {
+            UUID uuid = new UUID(random.nextLong(), random.nextLong());
+            String name = "Player" + i;
+            players[i] = (Player) Proxy.newProxyInstance(Player.class.getClassLoader(), new Class<?>[]{Player.class},
+                    (proxy, method, args) -> switch (method.getName()) {
+                        case "getUniqueId" -> uuid;
+                        case "getName" -> name;
+                        case "hashCode" -> uuid.hashCode();
+                        case "equals" -> proxy == args[0];
+                        case "toString" -> name;
+                        default -> throw new UnsupportedOperationException(method.getName());
+                    });
+        }
+        return players;
+    }
+
+    /**
+     * Builds the result of a finished fight where every player dealt some damage.
+     *
+     * @param players The participants.
+     * @param seed Seed for the damage values.
+     * @return The kill snapshot.
+     */
+    static KillSnapshot kill(Player[] players, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        Map<UUID, Double> damage = new HashMap<>();
+        for (Player player : players) {
+            damage.put(player.getUniqueId(), 1.0 + random.nextDouble(500.0));
+        }
+        return KillSnapshot.fromMap("BENCHMARK_BOSS", UUID.randomUUID(), damage, 100_000.0);
+    }
+}
@@ -0,0 +1,70 @@
+package com.fizzexual.damagetracker.benchmarks;
+
+import com.fizzexual.damagetracker.configs.RewardConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reward lookups for every participant of a kill, as done by {@code RewardManager.distributeRewards}.
+ * <p>
+ * Run with {@code java -jar target/benchmarks.jar RewardLookupBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RewardLookupBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int participants;
+
+    private RewardConfig config;
+
+    @Setup
+    public void setup() {
+        config = new RewardConfig();
+        config.setEnabled(true);
+
+        // Two rewards for each of the top 3, a range for 4-10 and a participation reward for everyone
+        for (int position = 1; position <= 3; position++) {
+            config.addReward(command(position, position, "give {player} minecraft:diamond " + (4 - position)));
+            config.addReward(command(position, position, "say {player} got position {position} on {boss}"));
+        }
+        config.addReward(command(4, 10, "give {player} minecraft:gold_ingot 5"));
+        config.addReward(command(1, RewardConfig.ALL_PLACES, "give {player} minecraft:experience_bottle 1"));
+        config.compile();
+    }
+
+    private static RewardConfig.Reward command(int minPlace, int maxPlace, String command) {
+        RewardConfig.Reward reward = new RewardConfig.Reward();
+        reward.setType("command");
+        reward.setPlaceRange(minPlace, maxPlace);
+        reward.setCommand(command);
+        return reward;
+    }
+
+    @Benchmark
+    public void getRewardsForEveryPosition(Blackhole blackhole) {
+        for (int position = 1; position <= participants; position++) {
+            List<RewardConfig.Reward> rewards = config.getRewardsForPosition(position);
+            for (int i = 0; i < rewards.size(); i++) {
+                blackhole.consume(rewards.get(i).getKind());
+            }
+        }
+    }
+}
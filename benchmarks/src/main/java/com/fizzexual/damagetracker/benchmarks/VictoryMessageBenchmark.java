@@ -0,0 +1,112 @@
+package com.fizzexual.damagetracker.benchmarks;
+
+import com.fizzexual.damagetracker.api.KillSnapshot;
+import com.fizzexual.damagetracker.utils.MessageTemplate;
+import com.fizzexual.damagetracker.utils.MessageUtils;
+import net.kyori.adventure.text.Component;
+import org.bukkit.entity.Player;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The victory broadcast of {@code MythicMobListeners.processVictoryMessage}: the top players list,
+ * then one message per online player, using the default templates from messages.yml.
+ * Every participant is online; sending is replaced by a blackhole.
+ * <p>
+ * Run with {@code java -jar target/benchmarks.jar VictoryMessageBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class VictoryMessageBenchmark {
+    private static final int TOP_PLAYERS_SHOWN = 3;
+
+    @Param({"10", "100", "1000"})
+    public int participants;
+
+    private Player[] players;
+    private KillSnapshot snapshot;
+    private MessageTemplate victoryTemplate;
+    private MessageTemplate positionTemplate;
+    private MessageTemplate personalTemplate;
+    private String nonParticipantMessage;
+
+    @Setup
+    public void setup() {
+        players = Raids.players(participants, 7L);
+        snapshot = Raids.kill(players, 7L);
+
+        victoryTemplate = MessageTemplate.compile(String.join("\n",
+                "",
+                "<gold><bold>⚔ BOSS DEFEATED ⚔</bold></gold>",
+                "<yellow>{boss_name} has been slain!</yellow>",
+                "",
+                "<aqua>Top Damage Dealers:</aqua>",
+                "{top_players}",
+                "",
+                "{personal_damage}",
+                ""));
+        positionTemplate = MessageTemplate.compile(
+                "<yellow>#{position}</yellow> <white>{prefix}{player_name}</white> - <gold>{damage}</gold> <gray>({percentage}%)</gray>");
+        personalTemplate = MessageTemplate.compile(
+                "<green>Your Contribution:</green> <yellow>#{position}</yellow> - <gold>{damage}</gold> <gray>({percentage}%)</gray>");
+        nonParticipantMessage = "<gray>You did not participate in this fight.</gray>";
+    }
+
+    @Benchmark
+    public void broadcast(Blackhole blackhole) {
+        String[] positionValues = MessageTemplate.Placeholder.newValues();
+        StringBuilder builder = new StringBuilder(256);
+
+        int shown = Math.min(TOP_PLAYERS_SHOWN, snapshot.getParticipantCount());
+        for (int rank = 1; rank <= shown; rank++) {
+            positionValues[MessageTemplate.Placeholder.POSITION.ordinal()] = String.valueOf(rank);
+            positionValues[MessageTemplate.Placeholder.PLAYER_NAME.ordinal()] = "Player" + rank;
+            positionValues[MessageTemplate.Placeholder.DAMAGE.ordinal()] = String.format("%.0f", snapshot.getDamageAtRank(rank));
+            positionValues[MessageTemplate.Placeholder.PERCENTAGE.ordinal()] = String.format("%.1f", snapshot.getPercentageAtRank(rank));
+            positionValues[MessageTemplate.Placeholder.PREFIX.ordinal()] = "";
+            positionTemplate.renderTo(builder, positionValues).append("\n");
+        }
+
+        String[] values = MessageTemplate.Placeholder.newValues();
+        Arrays.fill(positionValues, null);
+        values[MessageTemplate.Placeholder.BOSS_NAME.ordinal()] = snapshot.getDisplayName();
+        values[MessageTemplate.Placeholder.TOP_PLAYERS.ordinal()] = builder.toString();
+
+        MessageTemplate[] parts = victoryTemplate.splitAround(MessageTemplate.Placeholder.PERSONAL_DAMAGE);
+        Component before = MessageUtils.deserialize(parts[0].render(values));
+        Component after = MessageUtils.deserialize(parts[1].render(values));
+        Component nonParticipant = MessageUtils.deserialize(nonParticipantMessage);
+
+        for (Player player : players) {
+            int position = snapshot.getRank(player.getUniqueId());
+            Component personal;
+            if (position > 0) {
+                positionValues[MessageTemplate.Placeholder.POSITION.ordinal()] = String.valueOf(position);
+                positionValues[MessageTemplate.Placeholder.DAMAGE.ordinal()] = String.format("%.0f", snapshot.getDamageAtRank(position));
+                positionValues[MessageTemplate.Placeholder.PERCENTAGE.ordinal()] = String.format("%.1f", snapshot.getPercentageAtRank(position));
+                builder.setLength(0);
+                personal = MessageUtils.deserializeUncached(personalTemplate.renderTo(builder, positionValues).toString());
+            } else {
+                personal = nonParticipant;
+            }
+            blackhole.consume(Component.textOfChildren(before, personal, after));
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.fizzexual.damagetracker.benchmarks.simulator;
+
+import java.util.Arrays;
+
+/**
+ * Records latency and allocation samples of one kind of event and reports percentiles.
+ */
+final class LatencyRecorder {
+    private long[] nanos = new long[1024];
+    private long allocatedBytes;
+    private int count;
+
+    void record(long elapsedNanos, long allocated) {
+        if (count == nanos.length) {
+            nanos = Arrays.copyOf(nanos, count * 2);
+        }
+        nanos[count++] = elapsedNanos;
+        allocatedBytes += allocated;
+    }
+
+    void reset() {
+        count = 0;
+        allocatedBytes = 0;
+    }
+
+    int count() {
+        return count;
+    }
+
+    /**
+     * Formats the percentiles of the recorded samples, optionally minus a fixed overhead per sample.
+     *
+     * @param name Label of the line.
+     * @param overheadNanos Overhead subtracted from every sample, e.g. of the stubs.
+     * @param overheadBytes Allocation subtracted from every sample.
+     * @return One line of report.
+     */
+    String report(String name, double overheadNanos, double overheadBytes) {
+        if (count == 0) {
+            return String.format("%-22s no samples", name);
+        }
+        long[] sorted = Arrays.copyOf(nanos, count);
+        Arrays.sort(sorted);
+        double bytesPerEvent = Math.max(0.0, allocatedBytes / (double) count - overheadBytes);
+        return String.format("%-22s n=%-8d p50=%8s p90=%8s p99=%8s p99.9=%8s max=%8s alloc/event=%s",
+                name, count,
+                micros(percentile(sorted, 0.50), overheadNanos),
+                micros(percentile(sorted, 0.90), overheadNanos),
+                micros(percentile(sorted, 0.99), overheadNanos),
+                micros(percentile(sorted, 0.999), overheadNanos),
+                micros(sorted[count - 1], overheadNanos),
+                bytes(bytesPerEvent));
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+
+    private static String micros(long nanos, double overheadNanos) {
+        return String.format("%.2fus", Math.max(0.0, nanos - overheadNanos) / 1_000.0);
+    }
+
+    private static String bytes(double bytes) {
+        return bytes < 10_240 ? String.format("%.0fB", bytes) : String.format("%.1fKB", bytes / 1024.0);
+    }
+}
@@ -0,0 +1,457 @@
+package com.fizzexual.damagetracker.benchmarks.simulator;
+
+import com.fizzexual.damagetracker.DamageTracker;
+import com.fizzexual.damagetracker.configs.BossConfig;
+import com.fizzexual.damagetracker.listeners.MythicMobListeners;
+import com.fizzexual.damagetracker.managers.BossRegistry;
+import com.fizzexual.damagetracker.managers.DamageAggregator;
+import com.fizzexual.damagetracker.managers.DamageManager;
+import com.fizzexual.damagetracker.managers.DatabaseManager;
+import com.fizzexual.damagetracker.managers.LeaderboardCache;
+import com.fizzexual.damagetracker.managers.RewardManager;
+import com.fizzexual.damagetracker.managers.TrackedBossManager;
+import com.fizzexual.damagetracker.managers.VictoryMessageManager;
+import com.fizzexual.damagetracker.metrics.PluginMetrics;
+import io.lumine.mythic.api.adapters.AbstractEntity;
+import io.lumine.mythic.bukkit.MythicBukkit;
+import io.lumine.mythic.bukkit.events.MythicMobDeathEvent;
+import io.lumine.mythic.core.mobs.ActiveMob;
+import io.lumine.mythic.core.mobs.MobExecutor;
+import org.bukkit.Bukkit;
+import org.bukkit.Server;
+import org.bukkit.command.CommandSender;
+import org.bukkit.command.ConsoleCommandSender;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.damage.DamageSource;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.entity.Player;
+import org.bukkit.event.entity.EntityDamageByEntityEvent;
+import org.bukkit.event.entity.EntityDamageEvent;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.PluginManager;
+import org.bukkit.scheduler.BukkitScheduler;
+import org.mockito.MockedStatic;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Replays a raid against {@link MythicMobListeners} without a server: bosses, players and events
+ * are stubbed, while the managers, the ledgers, the reward queue and a local SQLite database are the real ones.
+ * <p>
+ * Every tick, each player hits its boss with a probability matching the configured hit rate.
+ * Bosses die after a fixed lifetime and respawn right away as a new instance.
+ * At the end it reports latency percentiles and allocation of hits, deaths and ticks, plus database writes.
+ * <p>
+ * Run with {@code java -cp target/benchmarks.jar com.fizzexual.damagetracker.benchmarks.simulator.RaidSimulator
+ * --bosses=2 --players=200 --hits-per-second=2 --boss-lifetime-ticks=1200 --duration-ticks=6000}.
+ */
+public final class RaidSimulator {
+    private static final String BOSS_PREFIX = "SimBoss";
+    private static final double BOSS_MAX_HEALTH = 250_000.0;
+    private static final int CALIBRATION_SAMPLES = 200_000;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private final Scenario scenario;
+    private final SimulatedScheduler scheduler = new SimulatedScheduler();
+    private final Map<UUID, Player> playersById = new HashMap<>();
+    private final Map<Entity, ActiveMob> mobsByEntity = new IdentityHashMap<>();
+    private final AtomicLong commandsDispatched = new AtomicLong();
+    private final AtomicLong eventsCalled = new AtomicLong();
+
+    private final LatencyRecorder hits = new LatencyRecorder();
+    private final LatencyRecorder deaths = new LatencyRecorder();
+    private final LatencyRecorder ticks = new LatencyRecorder();
+
+    private Player[] players;
+    private Boss[] bosses;
+    private DamageTracker plugin;
+    private MythicMobListeners listener;
+    private DamageSource damageSource;
+    private Path dataFolder;
+
+    // One live instance of a boss
+    private static final class Boss {
+        final String type;
+        ActiveMob mob;
+        LivingEntity entity;
+        long spawnTick;
+
+        Boss(String type) {
+            this.type = type;
+        }
+    }
+
+    private RaidSimulator(Scenario scenario) {
+        this.scenario = scenario;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Scenario scenario = Scenario.parse(args);
+        System.out.println("Simulating " + scenario);
+        new RaidSimulator(scenario).run();
+    }
+
+    private void run() throws Exception {
+        dataFolder = Files.createTempDirectory("etherealdrops-sim");
+        Logger logger = Logger.getLogger("EtherealDrops-Simulator");
+        logger.setLevel(Level.WARNING);
+
+        Server server = mockServer(logger);
+        Bukkit.setServer(server);
+
+        try (MockedStatic<MythicBukkit> mythic = mockStatic(MythicBukkit.class)) {
+            MythicBukkit mythicBukkit = mock(MythicBukkit.class);
+            MobExecutor mobManager = mock(MobExecutor.class);
+            mythic.when(MythicBukkit::inst).thenReturn(mythicBukkit);
+            when(mythicBukkit.getMobManager()).thenReturn(mobManager);
+            when(mobManager.getMythicMobInstance(any(Entity.class)))
+                    .thenAnswer(invocation -> mobsByEntity.get(invocation.<Entity>getArgument(0)));
+
+            writeConfigs();
+            plugin = mockPlugin(server, logger);
+            listener = new MythicMobListeners(plugin);
+            damageSource = Stubs.damageSource();
+            createPlayers();
+            createBosses();
+
+            Calibration calibration = calibrate();
+
+            simulate(scenario.warmupTicks());
+            hits.reset();
+            deaths.reset();
+            ticks.reset();
+            long rowsBefore = plugin.getDatabaseManager().getWriteQueue().getRowsWritten();
+            long batchesBefore = plugin.getDatabaseManager().getWriteQueue().getBatchesWritten();
+            long commandsBefore = commandsDispatched.get();
+
+            long start = System.nanoTime();
+            simulate(scenario.durationTicks());
+            long elapsed = System.nanoTime() - start;
+
+            // Flush what is still queued so the write counts cover the whole measurement
+            plugin.getDamageAggregator().shutdown();
+            plugin.getRewardManager().shutdown();
+            plugin.getDatabaseManager().close();
+            scheduler.cancelAll();
+
+            long rows = plugin.getDatabaseManager().getWriteQueue().getRowsWritten() - rowsBefore;
+            long batches = plugin.getDatabaseManager().getWriteQueue().getBatchesWritten() - batchesBefore;
+            report(calibration, elapsed, rows, batches, commandsDispatched.get() - commandsBefore);
+        } finally {
+            deleteRecursively(dataFolder);
+        }
+    }
+
+    private void simulate(int tickCount) {
+        SplittableRandom random = new SplittableRandom(scenario.seed() + scheduler.currentTick());
+        double hitChance = Math.min(1.0, scenario.hitsPerSecond() / 20.0);
+
+        for (int t = 0; t < tickCount; t++) {
+            long tick = scheduler.currentTick();
+
+            for (int i = 0; i < players.length; i++) {
+                if (random.nextDouble() >= hitChance) continue;
+                Boss boss = bosses[i % bosses.length];
+                EntityDamageByEntityEvent event = new EntityDamageByEntityEvent(players[i], boss.entity,
+                        EntityDamageEvent.DamageCause.ENTITY_ATTACK, damageSource, 2.0 + random.nextDouble(10.0));
+
+                long allocated = THREADS.getCurrentThreadAllocatedBytes();
+                long started = System.nanoTime();
+                listener.onMythicMobDamage(event);
+                long took = System.nanoTime() - started;
+                hits.record(took, THREADS.getCurrentThreadAllocatedBytes() - allocated);
+            }
+
+            for (Boss boss : bosses) {
+                if (tick - boss.spawnTick < scenario.bossLifetimeTicks()) continue;
+                MythicMobDeathEvent event = mock(MythicMobDeathEvent.class, withSettings().stubOnly());
+                when(event.getMob()).thenReturn(boss.mob);
+
+                long allocated = THREADS.getCurrentThreadAllocatedBytes();
+                long started = System.nanoTime();
+                listener.onMythicMobDeath(event);
+                long took = System.nanoTime() - started;
+                deaths.record(took, THREADS.getCurrentThreadAllocatedBytes() - allocated);
+
+                spawn(boss, tick);
+            }
+
+            long allocated = THREADS.getCurrentThreadAllocatedBytes();
+            long started = System.nanoTime();
+            scheduler.tick();
+            long took = System.nanoTime() - started;
+            ticks.record(took, THREADS.getCurrentThreadAllocatedBytes() - allocated);
+        }
+    }
+
+    // Measures the stubbed calls of the hit path on their own, so they can be taken out of the hit latency
+    private record Calibration(double nanos, double bytes) {
+    }
+
+    private Calibration calibrate() {
+        Player player = players[0];
+        ActiveMob mob = bosses[0].mob;
+        long[] samples = new long[CALIBRATION_SAMPLES];
+        long allocated = 0;
+        Object sink = null;
+
+        for (int round = 0; round < 2; round++) {
+            allocated = 0;
+            for (int i = 0; i < samples.length; i++) {
+                long before = THREADS.getCurrentThreadAllocatedBytes();
+                long started = System.nanoTime();
+                // MythicMobs and the max health attribute are only read on the first hit of each boss
+                sink = mob.getUniqueId();
+                sink = player.getUniqueId();
+                sink = player.getName();
+                samples[i] = System.nanoTime() - started;
+                allocated += THREADS.getCurrentThreadAllocatedBytes() - before;
+            }
+        }
+        if (sink == null) throw new IllegalStateException();
+
+        Arrays.sort(samples);
+        return new Calibration(samples[samples.length / 2], allocated / (double) samples.length);
+    }
+
+    private void report(Calibration calibration, long elapsedNanos, long rows, long batches, long commands) {
+        double seconds = elapsedNanos / 1e9;
+        double simulatedSeconds = scenario.durationTicks() / 20.0;
+
+        System.out.println();
+        System.out.printf("Simulated %.0fs of raid in %.2fs (%.1fx real time)%n",
+                simulatedSeconds, seconds, simulatedSeconds / seconds);
+        System.out.printf("Stub overhead per hit: %.2fus, %.0fB (subtracted from the net line)%n",
+                calibration.nanos() / 1_000.0, calibration.bytes());
+        System.out.println();
+        System.out.println(hits.report("damage event", 0, 0));
+        System.out.println(hits.report("damage event (net)", calibration.nanos(), calibration.bytes()));
+        System.out.println(deaths.report("death event", 0, 0));
+        System.out.println(ticks.report("scheduled tasks/tick", 0, 0));
+        System.out.println();
+        System.out.printf("Hits: %d, kills: %d, events fired: %d%n", hits.count(), deaths.count(), eventsCalled.get());
+        System.out.printf("Database: %d rows in %d batches (%.1f hits per row)%n",
+                rows, batches, rows == 0 ? 0.0 : hits.count() / (double) rows);
+        System.out.printf("Reward commands dispatched: %d, peak reward queue depth: %d%n",
+                commands, plugin.getRewardManager().getRewardExecutor().getPeakQueueDepth());
+        System.out.println("The database writer flushes on wall-clock time, so rows per batch depend on how fast the simulation runs.");
+    }
+
+    private void createPlayers() {
+        Random random = new Random(scenario.seed());
+        players = new Player[scenario.players()];
+        for (int i = 0; i < players.length; i++) {
+            UUID uuid = new UUID(random.nextLong(), random.nextLong());
+            players[i] = Stubs.player(uuid, "Player" + i);
+            playersById.put(uuid, players[i]);
+        }
+    }
+
+    private void createBosses() {
+        bosses = new Boss[scenario.bosses()];
+        for (int i = 0; i < bosses.length; i++) {
+            bosses[i] = new Boss(BOSS_PREFIX + (i + 1));
+            // Stagger the deaths so they do not all land on the same tick
+            spawn(bosses[i], -(long) i * scenario.bossLifetimeTicks() / bosses.length);
+        }
+    }
+
+    private void spawn(Boss boss, long tick) {
+        if (boss.entity != null) {
+            mobsByEntity.remove(boss.entity);
+        }
+        UUID uuid = UUID.randomUUID();
+        LivingEntity entity = Stubs.boss(uuid, BOSS_MAX_HEALTH);
+        AbstractEntity abstractEntity = mock(AbstractEntity.class, withSettings().stubOnly());
+        when(abstractEntity.getBukkitEntity()).thenReturn(entity);
+        when(abstractEntity.getUniqueId()).thenReturn(uuid);
+        ActiveMob mob = mock(ActiveMob.class, withSettings().stubOnly());
+        when(mob.getMobType()).thenReturn(boss.type);
+        when(mob.getUniqueId()).thenReturn(uuid);
+        when(mob.getDisplayName()).thenReturn(boss.type);
+        when(mob.getEntity()).thenReturn(abstractEntity);
+
+        boss.mob = mob;
+        boss.entity = entity;
+        boss.spawnTick = tick;
+        mobsByEntity.put(entity, mob);
+    }
+
+    private Server mockServer(Logger logger) {
+        Server server = mock(Server.class);
+        when(server.getLogger()).thenReturn(logger);
+        when(server.getName()).thenReturn("RaidSimulator");
+        when(server.getVersion()).thenReturn("simulated");
+        when(server.getBukkitVersion()).thenReturn("1.21.1-R0.1-SNAPSHOT");
+
+        BukkitScheduler bukkitScheduler = mock(BukkitScheduler.class);
+        when(bukkitScheduler.runTaskTimer(any(Plugin.class), any(Runnable.class), anyLong(), anyLong()))
+                .thenAnswer(i -> scheduler.schedule(i.getArgument(0), i.getArgument(1), i.getArgument(2), i.getArgument(3)));
+        when(bukkitScheduler.runTaskLater(any(Plugin.class), any(Runnable.class), anyLong()))
+                .thenAnswer(i -> scheduler.schedule(i.getArgument(0), i.getArgument(1), i.getArgument(2), -1L));
+        when(bukkitScheduler.runTask(any(Plugin.class), any(Runnable.class)))
+                .thenAnswer(i -> scheduler.schedule(i.getArgument(0), i.getArgument(1), 1L, -1L));
+        when(bukkitScheduler.runTaskAsynchronously(any(Plugin.class), any(Runnable.class)))
+                .thenAnswer(i -> scheduler.runNow(i.getArgument(0), i.getArgument(1)));
+        when(server.getScheduler()).thenReturn(bukkitScheduler);
+
+        PluginManager pluginManager = mock(PluginManager.class);
+        doAnswer(i -> eventsCalled.incrementAndGet()).when(pluginManager).callEvent(any());
+        when(server.getPluginManager()).thenReturn(pluginManager);
+
+        doAnswer(i -> List.of(players)).when(server).getOnlinePlayers();
+        when(server.getPlayer(any(UUID.class))).thenAnswer(i -> playersById.get(i.<UUID>getArgument(0)));
+        when(server.getConsoleSender()).thenReturn(mock(ConsoleCommandSender.class));
+        when(server.dispatchCommand(any(CommandSender.class), anyString())).thenAnswer(i -> {
+            commandsDispatched.incrementAndGet();
+            return true;
+        });
+        return server;
+    }
+
+    // Builds the plugin the way onEnable does, without the integrations and commands
+    private DamageTracker mockPlugin(Server server, Logger logger) throws IOException {
+        DamageTracker plugin = mock(DamageTracker.class);
+        YamlConfiguration config = loadResource("config.yml");
+
+        when(plugin.getConfig()).thenReturn(config);
+        when(plugin.getDataFolder()).thenReturn(dataFolder.toFile());
+        when(plugin.getLogger()).thenReturn(logger);
+        when(plugin.getServer()).thenReturn(server);
+        when(plugin.getName()).thenReturn("EtherealDrops");
+        when(plugin.isEnabled()).thenReturn(true);
+        doAnswer(i -> {
+            copyResource(i.getArgument(0));
+            return null;
+        }).when(plugin).saveResource(anyString(), anyBoolean());
+
+        PluginMetrics metrics = new PluginMetrics(plugin);
+        when(plugin.getMetrics()).thenReturn(metrics);
+
+        DatabaseManager databaseManager = new DatabaseManager(plugin);
+        when(plugin.getDatabaseManager()).thenReturn(databaseManager);
+
+        LeaderboardCache leaderboardCache = new LeaderboardCache(plugin);
+        when(plugin.getLeaderboardCache()).thenReturn(leaderboardCache);
+
+        DamageManager damageManager = new DamageManager(
+                config.getString("display.damage_format", "%.0f"),
+                config.getString("display.percentage_format", "%.1f"));
+        when(plugin.getDamageManager()).thenReturn(damageManager);
+        scheduler.schedule(plugin, damageManager::publishSnapshots, 1L, 1L);
+        when(plugin.formatDamage(anyDouble(), anyDouble(), anyString()))
+                .thenAnswer(i -> damageManager.formatDamage(i.getArgument(0), i.getArgument(1), i.getArgument(2)));
+
+        TrackedBossManager trackedBossManager = new TrackedBossManager(plugin);
+        when(plugin.getTrackedBossManager()).thenReturn(trackedBossManager);
+
+        VictoryMessageManager victoryMessageManager = new VictoryMessageManager(plugin);
+        when(plugin.getVictoryMessageManager()).thenReturn(victoryMessageManager);
+
+        RewardManager rewardManager = new RewardManager(plugin);
+        when(plugin.getRewardManager()).thenReturn(rewardManager);
+        rewardManager.loadRewards();
+
+        Map<String, BossConfig> bossConfigs = new HashMap<>();
+        for (int i = 1; i <= scenario.bosses(); i++) {
+            bossConfigs.put((BOSS_PREFIX + i).toUpperCase(),
+                    new BossConfig("DEFAULT_VICTORY", "DEFAULT", "DEFAULT", "DEFAULT", 3, true, "NONE"));
+        }
+        when(plugin.getBossConfigs()).thenReturn(bossConfigs);
+        when(plugin.getDefaultBossConfig()).thenReturn(new BossConfig());
+        when(plugin.getPlayerPrefix(any(Player.class))).thenReturn("");
+
+        BossRegistry bossRegistry = new BossRegistry(plugin);
+        when(plugin.getBossRegistry()).thenReturn(bossRegistry);
+        bossRegistry.reload();
+
+        DamageAggregator damageAggregator = new DamageAggregator(plugin);
+        when(plugin.getDamageAggregator()).thenReturn(damageAggregator);
+        damageAggregator.configure(scenario.aggregationWindowTicks() > 0, scenario.aggregationWindowTicks());
+        plugin.percentageFormat = config.getString("percentage_format", "%.1f%%");
+        return plugin;
+    }
+
+    // Tracks every simulated boss and rewards the top three, the next seven and everyone else
+    private void writeConfigs() throws IOException {
+        StringBuilder tracked = new StringBuilder("bosses:\n");
+        StringBuilder rewards = new StringBuilder("bosses:\n");
+        for (int i = 1; i <= scenario.bosses(); i++) {
+            String name = BOSS_PREFIX + i;
+            tracked.append("  ").append(name).append(":\n")
+                    .append("    enabled: true\n")
+                    .append("    top_players_shown: 3\n")
+                    .append("    broadcast: true\n")
+                    .append("    hologram: false\n");
+            rewards.append("  ").append(name).append(":\n")
+                    .append("    enabled: true\n")
+                    .append("    rewards:\n");
+            for (String position : new String[]{"1", "2", "3", "4-10", "all"}) {
+                rewards.append("      - position: \"").append(position).append("\"\n")
+                        .append("        type: command\n")
+                        .append("        command: \"say {player} placed {position} on {boss}\"\n");
+            }
+        }
+        tracked.append("default:\n")
+                .append("  persist_data: false\n");
+        Files.writeString(dataFolder.resolve("tracked_bosses.yml"), tracked, StandardCharsets.UTF_8);
+        Files.writeString(dataFolder.resolve("rewards.yml"), rewards, StandardCharsets.UTF_8);
+    }
+
+    private static YamlConfiguration loadResource(String name) throws IOException {
+        try (InputStream in = DamageTracker.class.getClassLoader().getResourceAsStream(name)) {
+            if (in == null) throw new IOException("Missing resource " + name);
+            return YamlConfiguration.loadConfiguration(new InputStreamReader(in, StandardCharsets.UTF_8));
+        }
+    }
+
+    private void copyResource(String name) throws IOException {
+        try (InputStream in = DamageTracker.class.getClassLoader().getResourceAsStream(name)) {
+            if (in == null) throw new IOException("Missing resource " + name);
+            Files.copy(in, dataFolder.resolve(name), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static void deleteRecursively(Path root) throws IOException {
+        if (root == null || !Files.exists(root)) return;
+        try (Stream<Path> paths = Files.walk(root)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.fizzexual.damagetracker.benchmarks.simulator;
+
+/**
+ * Settings of a simulated raid.
+ *
+ * @param bosses Number of bosses alive at the same time.
+ * @param players Number of online players; player {@code i} attacks boss {@code i % bosses}.
+ * @param hitsPerSecond Average hits per second of each player.
+ * @param bossLifetimeTicks Ticks between the spawn and the death of a boss, after which it respawns.
+ * @param durationTicks Length of the simulation in ticks.
+ * @param warmupTicks Ticks simulated before measuring, to let the JIT settle.
+ * @param seed Seed for the hit timing and damage values.
+ * @param aggregationWindowTicks Damage aggregation window in ticks, or 0 to update the rankings on every hit.
+ */
+public record Scenario(int bosses, int players, double hitsPerSecond, int bossLifetimeTicks,
+                       int durationTicks, int warmupTicks, long seed, int aggregationWindowTicks) {
+
+    /**
+     * Parses a scenario from {@code --key=value} arguments, using defaults for missing keys.
+     *
+     * @param args The command line arguments.
+     * @return The scenario.
+     */
+    public static Scenario parse(String[] args) {
+        int bosses = 2;
+        int players = 100;
+        double hitsPerSecond = 2.0;
+        int bossLifetimeTicks = 1200;
+        int durationTicks = 6000;
+        int warmupTicks = 1200;
+        long seed = 42L;
+        int aggregationWindowTicks = 0;
+
+        for (String arg : args) {
+            if (!arg.startsWith("--") || arg.indexOf('=') < 0) {
+                throw new IllegalArgumentException("Expected --key=value but got: " + arg);
+            }
+            String key = arg.substring(2, arg.indexOf('='));
+            String value = arg.substring(arg.indexOf('=') + 1);
+            switch (key) {
+                case "bosses" -> bosses = Integer.parseInt(value);
+                case "players" -> players = Integer.parseInt(value);
+                case "hits-per-second" -> hitsPerSecond = Double.parseDouble(value);
+                case "boss-lifetime-ticks" -> bossLifetimeTicks = Integer.parseInt(value);
+                case "duration-ticks" -> durationTicks = Integer.parseInt(value);
+                case "warmup-ticks" -> warmupTicks = Integer.parseInt(value);
+                case "seed" -> seed = Long.parseLong(value);
+                case "aggregation-window-ticks" -> aggregationWindowTicks = Integer.parseInt(value);
+                default -> throw new IllegalArgumentException("Unknown option: --" + key);
+            }
+        }
+
+        if (bosses < 1 || players < 1 || hitsPerSecond <= 0 || bossLifetimeTicks < 1 || durationTicks < 1 || warmupTicks < 0
+                || aggregationWindowTicks < 0) {
+            throw new IllegalArgumentException("Scenario values must be positive");
+        }
+        return new Scenario(bosses, players, hitsPerSecond, bossLifetimeTicks, durationTicks, warmupTicks, seed, aggregationWindowTicks);
+    }
+
+    @Override
+    public String toString() {
+        return bosses + " bosses, " + players + " players, " + hitsPerSecond + " hits/s per player, boss dies after "
+                + bossLifetimeTicks + " ticks, " + durationTicks + " ticks measured after " + warmupTicks + " warmup ticks"
+                + (aggregationWindowTicks > 0 ? ", damage aggregated every " + aggregationWindowTicks + " ticks" : "");
+    }
+}
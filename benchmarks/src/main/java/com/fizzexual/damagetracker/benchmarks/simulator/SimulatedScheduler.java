@@ -0,0 +1,107 @@
+package com.fizzexual.damagetracker.benchmarks.simulator;
+
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tick-driven replacement for the Bukkit scheduler.
+ * Sync tasks run when {@link #tick()} reaches them; async tasks run right away on the calling thread.
+ */
+final class SimulatedScheduler {
+    private final List<Task> tasks = new ArrayList<>();
+    private long currentTick;
+    private int nextTaskId = 1;
+
+    final class Task implements BukkitTask {
+        private final int taskId;
+        private final Plugin owner;
+        private final Runnable runnable;
+        private final long period;
+        private long nextRun;
+        private boolean cancelled;
+
+        private Task(Plugin owner, Runnable runnable, long delay, long period) {
+            this.taskId = nextTaskId++;
+            this.owner = owner;
+            this.runnable = runnable;
+            this.period = period;
+            this.nextRun = currentTick + Math.max(1L, delay);
+        }
+
+        @Override
+        public int getTaskId() {
+            return taskId;
+        }
+
+        @Override
+        public Plugin getOwner() {
+            return owner;
+        }
+
+        @Override
+        public boolean isSync() {
+            return true;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+    }
+
+    BukkitTask schedule(Plugin owner, Runnable runnable, long delay, long period) {
+        Task task = new Task(owner, runnable, delay, period);
+        tasks.add(task);
+        return task;
+    }
+
+    BukkitTask runNow(Plugin owner, Runnable runnable) {
+        Task task = new Task(owner, runnable, 0L, -1L);
+        runnable.run();
+        task.cancelled = true;
+        return task;
+    }
+
+    /**
+     * Advances one tick and runs every sync task that is due.
+     */
+    void tick() {
+        currentTick++;
+        // Tasks scheduled while running are picked up on a later tick
+        List<Task> due = new ArrayList<>();
+        for (Task task : tasks) {
+            if (!task.cancelled && task.nextRun <= currentTick) {
+                due.add(task);
+            }
+        }
+        for (Task task : due) {
+            if (task.cancelled) continue;
+            task.runnable.run();
+            if (task.period > 0) {
+                task.nextRun = currentTick + task.period;
+            } else {
+                task.cancelled = true;
+            }
+        }
+        tasks.removeIf(task -> task.cancelled);
+    }
+
+    long currentTick() {
+        return currentTick;
+    }
+
+    void cancelAll() {
+        for (Task task : tasks) {
+            task.cancelled = true;
+        }
+        tasks.clear();
+    }
+}
@@ -3,11 +3,15 @@ package com.fizzexual.damagetracker;
 import com.fizzexual.damagetracker.commands.DamageTrackerCommand;
 import com.fizzexual.damagetracker.configs.BossConfig;
 import com.fizzexual.damagetracker.listeners.MythicMobListeners;
+import com.fizzexual.damagetracker.managers.BossRegistry;
+import com.fizzexual.damagetracker.managers.DamageAggregator;
 import com.fizzexual.damagetracker.managers.DamageManager;
 import com.fizzexual.damagetracker.managers.DatabaseManager;
+import com.fizzexual.damagetracker.managers.LeaderboardCache;
 import com.fizzexual.damagetracker.managers.TrackedBossManager;
 import com.fizzexual.damagetracker.managers.VictoryMessageManager;
 import com.fizzexual.damagetracker.managers.RewardManager;
+import com.fizzexual.damagetracker.metrics.PluginMetrics;
 import com.fizzexual.damagetracker.placeholders.DamageTrackerPlaceholder;
 import com.fizzexual.damagetracker.utils.MessageUtils;
 import com.fizzexual.damagetracker.managers.HologramManager;
@@ -26,6 +30,10 @@ public class DamageTracker extends JavaPlugin {
     private VictoryMessageManager victoryMessageManager;
     private DatabaseManager databaseManager;
     private RewardManager rewardManager;
+    private BossRegistry bossRegistry;
+    private DamageAggregator damageAggregator;
+    private LeaderboardCache leaderboardCache;
+    private PluginMetrics metrics;
     private boolean useVault;
     private Chat vaultChat;
     public String personalMessageFormat;
@@ -39,8 +47,12 @@ public class DamageTracker extends JavaPlugin {
         saveDefaultConfig();
         reloadConfig();
         
+        // Initialize metrics before anything that records them
+        metrics = new PluginMetrics(this);
         // Initialize database manager
         databaseManager = new DatabaseManager(this);
+        // Initialize the leaderboard cache, configured by loadConfig
+        leaderboardCache = new LeaderboardCache(this);
         // Initialize boss configurations
         bossConfigs = new HashMap<>();
         // Initialize the damage manager
@@ -51,6 +63,10 @@ public class DamageTracker extends JavaPlugin {
         victoryMessageManager = new VictoryMessageManager(this);
         // Initialize the reward manager
         rewardManager = new RewardManager(this);
+        // Initialize the boss registry, filled by loadConfig
+        bossRegistry = new BossRegistry(this);
+        // Initialize the damage aggregator, enabled by loadConfig
+        damageAggregator = new DamageAggregator(this);
         // Load all configurations
         loadConfig();
         // Initialize message utilities
@@ -68,8 +84,20 @@ public class DamageTracker extends JavaPlugin {
 
     @Override
     public void onDisable() {
+        // Stop the periodic metrics log
+        if (metrics != null) {
+            metrics.shutdown();
+        }
+        // Fold buffered damage before the database is closed
+        if (damageAggregator != null) {
+            damageAggregator.shutdown();
+        }
         // Close message utilities
         MessageUtils.close();
+        // Run rewards still waiting in the queue
+        if (rewardManager != null) {
+            rewardManager.shutdown();
+        }
         // Close database connection
         if (databaseManager != null) {
             databaseManager.close();
@@ -87,6 +115,8 @@ public class DamageTracker extends JavaPlugin {
         String percentageFormat = getConfig().getString("display.percentage_format", "%.1f");
         // Initialize the damage manager with the formats
         this.damageManager = new DamageManager(damageFormat, percentageFormat);
+        // Publish ledger snapshots for async readers once per tick
+        getServer().getScheduler().runTaskTimer(this, damageManager::publishSnapshots, 1L, 1L);
     }
 
     private void initializeTrackedBossManager() {
@@ -97,7 +127,7 @@ public class DamageTracker extends JavaPlugin {
         // Register event listeners
         getServer().getPluginManager().registerEvents(new MythicMobListeners(this), this);
         // Register placeholder (unified expansion)
-        new DamageTrackerPlaceholder(this, databaseManager).register();
+        new DamageTrackerPlaceholder(this, leaderboardCache).register();
     
         // Register command handler
         DamageTrackerCommand commandHandler = new DamageTrackerCommand(this, trackedBossManager);
@@ -157,6 +187,22 @@ public class DamageTracker extends JavaPlugin {
         victoryMessageManager.reloadConfig();
         // Load reward configurations
         rewardManager.loadRewards();
+        // Resolve boss keys against the configurations just loaded
+        bossRegistry.reload();
+        // Drop cached messages so edited messages show up
+        MessageUtils.configureCache(
+                getConfig().getInt("message_cache.max_entries", 512),
+                getConfig().getInt("message_cache.max_weight", 262144));
+        // Apply metrics settings
+        metrics.configure(
+                getConfig().getBoolean("metrics.enabled", true),
+                getConfig().getInt("metrics.log_interval_seconds", 0));
+        // Apply damage aggregation settings
+        damageAggregator.configure(
+                getConfig().getBoolean("damage_aggregation.enabled", false),
+                getConfig().getInt("damage_aggregation.window_ticks", 1));
+        // Apply the leaderboard placeholder cache duration
+        leaderboardCache.configure(getConfig().getInt("placeholders.cache_duration", 5));
     }
 
     private void loadFormats() {
@@ -313,6 +359,22 @@ public class DamageTracker extends JavaPlugin {
         return databaseManager;
     }
 
+    public BossRegistry getBossRegistry() {
+        return bossRegistry;
+    }
+
+    public PluginMetrics getMetrics() {
+        return metrics;
+    }
+
+    public DamageAggregator getDamageAggregator() {
+        return damageAggregator;
+    }
+
+    public LeaderboardCache getLeaderboardCache() {
+        return leaderboardCache;
+    }
+
     public String getPlayerPrefix(Player player) {
         String prefix = "";
         try {
@@ -11,8 +11,7 @@ public class BossDamageCompletedEvent extends Event {
     private static final HandlerList handlers = new HandlerList();
     private final String bossId;
     private final UUID mobUuid;
-    private final Map<UUID, Double> playerDamageMap;
-    private final double maxHealth;
+    private final KillSnapshot snapshot;
 
     /**
      * Constructor for the BossDamageCompletedEvent
@@ -23,10 +22,18 @@ public class BossDamageCompletedEvent extends Event {
      * @param maxHealth       The maximum health of the boss
      */
     public BossDamageCompletedEvent(String bossId, UUID mobUuid, Map<UUID, Double> playerDamageMap, double maxHealth) {
-        this.bossId = bossId;
-        this.mobUuid = mobUuid;
-        this.playerDamageMap = Map.copyOf(playerDamageMap); // Create an unmodifiable copy
-        this.maxHealth = maxHealth;
+        this(KillSnapshot.fromMap(bossId, mobUuid, playerDamageMap, maxHealth));
+    }
+
+    /**
+     * Constructor for the BossDamageCompletedEvent
+     *
+     * @param snapshot The immutable result of the fight
+     */
+    public BossDamageCompletedEvent(KillSnapshot snapshot) {
+        this.bossId = snapshot.getBossId();
+        this.mobUuid = snapshot.getMobUuid();
+        this.snapshot = snapshot;
     }
 
     /**
@@ -53,7 +60,16 @@ public class BossDamageCompletedEvent extends Event {
      * @return Map of player UUIDs to damage values
      */
     public Map<UUID, Double> getPlayerDamageMap() {
-        return playerDamageMap;
+        return snapshot.getDamageMap();
+    }
+
+    /**
+     * Gets the ranked result of the fight
+     *
+     * @return Kill snapshot with ranks, damage and percentages
+     */
+    public KillSnapshot getSnapshot() {
+        return snapshot;
     }
 
     /**
@@ -62,7 +78,7 @@ public class BossDamageCompletedEvent extends Event {
      * @return Boss max health value
      */
     public double getMaxHealth() {
-        return maxHealth;
+        return snapshot.getMaxHealth();
     }
 
     @Override
@@ -0,0 +1,213 @@
+package com.fizzexual.damagetracker.api;
+
+import com.fizzexual.damagetracker.data.DamageLedger;
+import com.fizzexual.damagetracker.data.LedgerSnapshot;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Immutable result of a boss fight, computed once when the boss dies.
+ * <p>
+ * Participants are already ranked, so the event, rewards, victory messages and
+ * holograms all read ranks, damage and percentages from the same data without sorting.
+ */
+public final class KillSnapshot {
+    private final String bossId;
+    private final UUID mobUuid;
+    private final String displayName;
+    private final double maxHealth;
+    private final LedgerSnapshot ledger;
+    private List<UUID> participants;
+
+    /**
+     * Constructor for KillSnapshot.
+     *
+     * @param bossId      The internal ID/name of the boss
+     * @param mobUuid     The UUID of the mob instance
+     * @param displayName The display name of the boss
+     * @param maxHealth   The maximum health of the boss
+     * @param ledger      Snapshot of the damage ledger of the mob instance
+     */
+    public KillSnapshot(String bossId, UUID mobUuid, String displayName, double maxHealth, LedgerSnapshot ledger) {
+        this.bossId = bossId;
+        this.mobUuid = mobUuid;
+        this.displayName = displayName;
+        this.maxHealth = maxHealth;
+        this.ledger = ledger;
+    }
+
+    /**
+     * Creates a snapshot from a plain damage map.
+     *
+     * @param bossId          The internal ID/name of the boss
+     * @param mobUuid         The UUID of the mob instance
+     * @param playerDamageMap Map of player UUIDs to their damage values
+     * @param maxHealth       The maximum health of the boss
+     * @return A new kill snapshot
+     */
+    public static KillSnapshot fromMap(String bossId, UUID mobUuid, Map<UUID, Double> playerDamageMap, double maxHealth) {
+        DamageLedger ledger = new DamageLedger();
+        playerDamageMap.forEach(ledger::add);
+        return new KillSnapshot(bossId, mobUuid, bossId, maxHealth, ledger.publish());
+    }
+
+    /**
+     * Gets the internal ID/name of the boss
+     *
+     * @return Boss ID string
+     */
+    public String getBossId() {
+        return bossId;
+    }
+
+    /**
+     * Gets the UUID of the mob instance
+     *
+     * @return Mob UUID
+     */
+    public UUID getMobUuid() {
+        return mobUuid;
+    }
+
+    /**
+     * Gets the display name of the boss
+     *
+     * @return Boss display name
+     */
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    /**
+     * Gets the maximum health of the boss
+     *
+     * @return Boss max health value
+     */
+    public double getMaxHealth() {
+        return maxHealth;
+    }
+
+    /**
+     * Gets the total damage dealt by all participants
+     *
+     * @return Total damage
+     */
+    public double getTotalDamage() {
+        return ledger.total();
+    }
+
+    /**
+     * Gets the number of players who damaged the boss
+     *
+     * @return Participant count
+     */
+    public int getParticipantCount() {
+        return ledger.size();
+    }
+
+    public boolean isEmpty() {
+        return ledger.isEmpty();
+    }
+
+    /**
+     * Checks if a player damaged the boss
+     *
+     * @param playerId The UUID of the player
+     * @return true if the player participated
+     */
+    public boolean isParticipant(UUID playerId) {
+        return ledger.contains(playerId);
+    }
+
+    /**
+     * Gets the rank of a player, 1 being the highest damage
+     *
+     * @param playerId The UUID of the player
+     * @return The rank, or -1 if the player did not participate
+     */
+    public int getRank(UUID playerId) {
+        return ledger.rankOf(playerId);
+    }
+
+    /**
+     * Gets the damage dealt by a player
+     *
+     * @param playerId The UUID of the player
+     * @return The damage, or 0 if the player did not participate
+     */
+    public double getDamage(UUID playerId) {
+        return ledger.getDamage(playerId);
+    }
+
+    /**
+     * Gets the share of the total damage dealt by a player
+     *
+     * @param playerId The UUID of the player
+     * @return The percentage, or 0 if the player did not participate
+     */
+    public double getPercentage(UUID playerId) {
+        return ledger.percentage(playerId);
+    }
+
+    /**
+     * Gets the player at a rank
+     *
+     * @param rank The rank, between 1 and getParticipantCount()
+     * @return The UUID of that player
+     */
+    public UUID getPlayerAtRank(int rank) {
+        return ledger.playerAtRank(rank);
+    }
+
+    /**
+     * Gets the damage of the player at a rank
+     *
+     * @param rank The rank, between 1 and getParticipantCount()
+     * @return The damage dealt by that player
+     */
+    public double getDamageAtRank(int rank) {
+        return ledger.damageAtRank(rank);
+    }
+
+    /**
+     * Gets the share of the total damage of the player at a rank
+     *
+     * @param rank The rank, between 1 and getParticipantCount()
+     * @return The percentage of the total damage
+     */
+    public double getPercentageAtRank(int rank) {
+        double total = ledger.total();
+        return total > 0 ? (ledger.damageAtRank(rank) / total) * 100 : 0.0;
+    }
+
+    /**
+     * Gets all participants from the highest damage to the lowest
+     *
+     * @return Unmodifiable list of player UUIDs
+     */
+    public List<UUID> getParticipants() {
+        List<UUID> list = participants;
+        if (list == null) {
+            list = new ArrayList<>(ledger.size());
+            for (int rank = 1; rank <= ledger.size(); rank++) {
+                list.add(ledger.playerAtRank(rank));
+            }
+            // List.copyOf only has final fields, so the list is safely published to other threads
+            list = List.copyOf(list);
+            participants = list;
+        }
+        return list;
+    }
+
+    /**
+     * Gets an unmodifiable map of player damage, iterated from the highest damage to the lowest
+     *
+     * @return Map of player UUIDs to damage values
+     */
+    public Map<UUID, Double> getDamageMap() {
+        return ledger.asMap();
+    }
+}
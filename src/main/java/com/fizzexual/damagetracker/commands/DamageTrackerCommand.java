@@ -24,6 +24,7 @@ public class DamageTrackerCommand implements CommandExecutor, TabCompleter {
     private final DamageTracker plugin;
     private final String damageFormat;
     private final TrackedBossCommands trackedBossCommands;
+    private final KillHistoryCommands killHistoryCommands;
 
     /**
      * Constructor for DamageTrackerCommand.
@@ -35,6 +36,7 @@ public class DamageTrackerCommand implements CommandExecutor, TabCompleter {
         this.plugin = plugin;
         this.damageFormat = plugin.getConfig().getString("damage_format", "%.2f");
         this.trackedBossCommands = new TrackedBossCommands(plugin, trackedBossManager);
+        this.killHistoryCommands = new KillHistoryCommands(plugin);
     }
 
     /**
@@ -62,6 +64,8 @@ public class DamageTrackerCommand implements CommandExecutor, TabCompleter {
             case "check" -> trackedBossCommands.handleCheckDamageCommand(sender, args);
             case "top" -> trackedBossCommands.handleCheckTopCommand(sender, args);
             case "clear" -> trackedBossCommands.handleClearDataCommand(sender, args);
+            case "stats" -> handleStatsCommand(sender, args);
+            case "history" -> killHistoryCommands.handleHistoryCommand(sender, args);
             default -> showHelp(sender);
         };
     }
@@ -95,6 +99,15 @@ public class DamageTrackerCommand implements CommandExecutor, TabCompleter {
         if (sender.hasPermission("etherealdrops.cleardata")) {
             MessageUtils.sendMessage(sender, "<aqua>/ed clear <boss></aqua> <gray>- Clear boss damage data</gray>");
         }
+
+        if (sender.hasPermission("etherealdrops.stats")) {
+            MessageUtils.sendMessage(sender, "<aqua>/ed stats [reset]</aqua> <gray>- View plugin performance stats</gray>");
+        }
+
+        if (sender.hasPermission("etherealdrops.history")) {
+            MessageUtils.sendMessage(sender, "<aqua>/ed history <boss> [count]</aqua> <gray>- View the last kills of a boss</gray>");
+            MessageUtils.sendMessage(sender, "<aqua>/ed history player [name] [count]</aqua> <gray>- View a player's kill history</gray>");
+        }
         
         MessageUtils.sendMessage(sender, "");
         MessageUtils.sendMessage(sender, "<gray>Aliases: <white>/etherealdrops</white>, <white>/ed</white>, <white>/drops</white></gray>");
@@ -137,6 +150,36 @@ public class DamageTrackerCommand implements CommandExecutor, TabCompleter {
         return true;
     }
 
+    /**
+     * Handles the /etherealdrops stats command.
+     *
+     * @param sender The sender of the command.
+     * @param args The arguments passed to the command.
+     * @return true always.
+     */
+    private boolean handleStatsCommand(CommandSender sender, String[] args) {
+        if (!sender.hasPermission("etherealdrops.stats")) {
+            MessageUtils.sendMessage(sender, "<red>You don't have permission to use this command.</red>");
+            return true;
+        }
+
+        if (args.length > 1 && args[1].equalsIgnoreCase("reset")) {
+            plugin.getMetrics().reset();
+            MessageUtils.sendMessage(sender, "<green>Performance stats have been reset.</green>");
+            return true;
+        }
+
+        MessageUtils.sendMessage(sender, "");
+        MessageUtils.sendMessage(sender, "<gradient:aqua:blue><bold>EtherealDrops Stats</bold></gradient>");
+        for (String line : plugin.getMetrics().getReport()) {
+            // Indented lines are details of the line above
+            String color = line.startsWith(" ") ? "gray" : "white";
+            MessageUtils.sendMessageUncached(sender, "<" + color + ">" + line + "</" + color + ">");
+        }
+        MessageUtils.sendMessage(sender, "");
+        return true;
+    }
+
     /**
      * Handles tab completion for the /etherealdrops command.
      *
@@ -167,6 +210,12 @@ public class DamageTrackerCommand implements CommandExecutor, TabCompleter {
             if (sender.hasPermission("etherealdrops.cleardata")) {
                 completions.add("clear");
             }
+            if (sender.hasPermission("etherealdrops.stats")) {
+                completions.add("stats");
+            }
+            if (sender.hasPermission("etherealdrops.history")) {
+                completions.add("history");
+            }
             return completions.stream()
                     .filter(c -> c.toLowerCase().startsWith(args[0].toLowerCase()))
                     .collect(Collectors.toList());
@@ -178,6 +227,18 @@ public class DamageTrackerCommand implements CommandExecutor, TabCompleter {
             return trackedBossCommands.onTabComplete(args);
         }
 
+        if (args.length == 2 && args[0].equalsIgnoreCase("stats") && sender.hasPermission("etherealdrops.stats")) {
+            return "reset".startsWith(args[1].toLowerCase()) ? List.of("reset") : new ArrayList<>();
+        }
+
+        if (args.length == 2 && args[0].equalsIgnoreCase("history") && sender.hasPermission("etherealdrops.history")) {
+            List<String> completions = new ArrayList<>(trackedBossCommands.onTabComplete(args));
+            if ("player".startsWith(args[1].toLowerCase())) {
+                completions.add("player");
+            }
+            return completions;
+        }
+
         return new ArrayList<>();
     }
 }
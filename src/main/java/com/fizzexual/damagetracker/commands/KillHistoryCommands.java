@@ -0,0 +1,173 @@
+package com.fizzexual.damagetracker.commands;
+
+import com.fizzexual.damagetracker.DamageTracker;
+import com.fizzexual.damagetracker.data.KillRecord;
+import com.fizzexual.damagetracker.utils.MessageUtils;
+import org.bukkit.Bukkit;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * Handles the commands showing the kill history.
+ */
+public class KillHistoryCommands {
+    private static final int DEFAULT_COUNT = 5;
+    private static final int MAX_COUNT = 20;
+    // Participants listed under each kill of a boss
+    private static final int SHOWN_PARTICIPANTS = 3;
+
+    private final DamageTracker plugin;
+
+    /**
+     * Constructor for KillHistoryCommands.
+     * @param plugin The instance of the DamageTracker plugin.
+     */
+    public KillHistoryCommands(DamageTracker plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Handles /ed history &lt;boss&gt; [count] and /ed history player [name] [count].
+     * The history is loaded on the database executor and shown once it arrives.
+     * @param sender The command sender.
+     * @param args The command arguments.
+     * @return True if the command was handled, false otherwise.
+     */
+    public boolean handleHistoryCommand(CommandSender sender, String[] args) {
+        if (!sender.hasPermission("etherealdrops.history")) {
+            MessageUtils.sendMessage(sender, "<red>You do not have permission to use this command.</red>");
+            return true;
+        }
+
+        if (args.length < 2) {
+            MessageUtils.sendMessage(sender, "<red>Usage: /ed history <boss> [count] or /ed history player [name] [count]</red>");
+            return true;
+        }
+
+        if (args[1].equalsIgnoreCase("player")) {
+            return handlePlayerHistory(sender, args);
+        }
+
+        String bossId = args[1].toUpperCase();
+        int count = parseCount(args, 2);
+        show(sender, plugin.getDatabaseManager().getRecentKills(bossId, count), kills -> {
+            if (kills.isEmpty()) {
+                MessageUtils.sendMessageUncached(sender, "<red>No kills recorded for <yellow>" + args[1] + "</yellow>.</red>");
+                return;
+            }
+
+            MessageUtils.sendMessage(sender, "");
+            MessageUtils.sendMessageUncached(sender, "<gold><bold>═══ Last Kills: <yellow>" + args[1] + "</yellow> ═══</bold></gold>");
+            long now = System.currentTimeMillis();
+            for (KillRecord kill : kills) {
+                MessageUtils.sendMessageUncached(sender, "<yellow>#" + kill.killId() + "</yellow> <white>"
+                        + formatDuration(now - kill.killedAt()) + " ago</white> <gray>- "
+                        + kill.participantCount() + " players, fight lasted "
+                        + formatDuration(kill.killedAt() - kill.startedAt()) + "</gray>");
+                for (KillRecord.Participant participant : kill.participants()) {
+                    if (participant.rank() > SHOWN_PARTICIPANTS) break;
+                    MessageUtils.sendMessageUncached(sender, "<gray>   #" + participant.rank() + "</gray> <white>"
+                            + nameOf(participant) + "</white> - <aqua>" + String.format("%.0f", participant.damage())
+                            + "</aqua> <gray>(" + String.format("%.1f", share(participant, kill)) + "%)</gray>");
+                }
+            }
+            MessageUtils.sendMessage(sender, "");
+        });
+        return true;
+    }
+
+    private boolean handlePlayerHistory(CommandSender sender, String[] args) {
+        // Only online players can be looked up by name without a blocking profile lookup
+        Player target;
+        int countIndex;
+        if (args.length >= 3 && !isNumber(args[2])) {
+            target = Bukkit.getPlayerExact(args[2]);
+            if (target == null) {
+                MessageUtils.sendMessageUncached(sender, "<red>Player '<yellow>" + args[2] + "</yellow>' is not online.</red>");
+                return true;
+            }
+            countIndex = 3;
+        } else if (sender instanceof Player) {
+            target = (Player) sender;
+            countIndex = 2;
+        } else {
+            MessageUtils.sendMessage(sender, "<red>Usage: /ed history player <name> [count]</red>");
+            return true;
+        }
+
+        String targetName = target.getName();
+        UUID targetId = target.getUniqueId();
+        int count = parseCount(args, countIndex);
+        show(sender, plugin.getDatabaseManager().getPlayerKills(targetId, count), kills -> {
+            if (kills.isEmpty()) {
+                MessageUtils.sendMessageUncached(sender, "<red>No kills recorded for <yellow>" + targetName + "</yellow>.</red>");
+                return;
+            }
+
+            MessageUtils.sendMessage(sender, "");
+            MessageUtils.sendMessageUncached(sender, "<gold><bold>═══ Kill History: <yellow>" + targetName + "</yellow> ═══</bold></gold>");
+            long now = System.currentTimeMillis();
+            for (KillRecord kill : kills) {
+                KillRecord.Participant participant = kill.participants().get(0);
+                MessageUtils.sendMessageUncached(sender, "<yellow>#" + kill.killId() + "</yellow> <white>" + kill.bossId()
+                        + "</white> <gray>" + formatDuration(now - kill.killedAt()) + " ago -</gray> <white>#"
+                        + participant.rank() + "/" + kill.participantCount() + "</white> <aqua>"
+                        + String.format("%.0f", participant.damage()) + "</aqua> <gray>("
+                        + String.format("%.1f", share(participant, kill)) + "%), "
+                        + participant.rewardsQueued() + " rewards queued</gray>");
+            }
+            MessageUtils.sendMessage(sender, "");
+        });
+        return true;
+    }
+
+    /**
+     * Shows the result of a history query on the server thread.
+     */
+    private void show(CommandSender sender, CompletableFuture<List<KillRecord>> query,
+                      Consumer<List<KillRecord>> display) {
+        query.whenComplete((kills, error) -> Bukkit.getScheduler().runTask(plugin, () -> {
+            if (error != null) {
+                plugin.getLogger().warning("Could not load kill history: " + error.getMessage());
+                MessageUtils.sendMessage(sender, "<red>Could not load the kill history, see the console for details.</red>");
+                return;
+            }
+            display.accept(kills);
+        }));
+    }
+
+    private int parseCount(String[] args, int index) {
+        if (args.length <= index || !isNumber(args[index])) return DEFAULT_COUNT;
+        return Math.max(1, Math.min(MAX_COUNT, Integer.parseInt(args[index])));
+    }
+
+    private boolean isNumber(String value) {
+        if (value.isEmpty() || value.length() > 9) return false;
+        for (int i = 0; i < value.length(); i++) {
+            if (!Character.isDigit(value.charAt(i))) return false;
+        }
+        return true;
+    }
+
+    private String nameOf(KillRecord.Participant participant) {
+        return participant.playerName() != null ? participant.playerName() : participant.playerId().toString();
+    }
+
+    private double share(KillRecord.Participant participant, KillRecord kill) {
+        return kill.totalDamage() > 0 ? participant.damage() / kill.totalDamage() * 100 : 0.0;
+    }
+
+    private String formatDuration(long millis) {
+        long seconds = Math.max(0, millis / 1000);
+        if (seconds < 60) return seconds + "s";
+        long minutes = seconds / 60;
+        if (minutes < 60) return minutes + "m " + (seconds % 60) + "s";
+        long hours = minutes / 60;
+        if (hours < 24) return hours + "h " + (minutes % 60) + "m";
+        return (hours / 24) + "d " + (hours % 24) + "h";
+    }
+}
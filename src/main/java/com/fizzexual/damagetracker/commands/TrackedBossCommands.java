@@ -55,7 +55,7 @@ public class TrackedBossCommands {
         UUID playerId = player.getUniqueId();
 
         if (!trackedBossManager.isTrackedBoss(bossId)) {
-            MessageUtils.sendMessage(sender, "<red>Boss '<yellow>" + args[1] + "</yellow>' is not being tracked.</red>");
+            MessageUtils.sendMessageUncached(sender, "<red>Boss '<yellow>" + args[1] + "</yellow>' is not being tracked.</red>");
             return true;
         }
 
@@ -63,9 +63,9 @@ public class TrackedBossCommands {
         double percentage = trackedBossManager.getPlayerDamagePercentage(bossId, playerId);
 
         MessageUtils.sendMessage(sender, "");
-        MessageUtils.sendMessage(sender, "<gold>Your damage to <yellow>" + args[1] + "</yellow>:</gold>");
-        MessageUtils.sendMessage(sender, "<white>  Damage: <aqua>" + trackedBossManager.formatDamage(damage, bossId) + "</aqua></white>");
-        MessageUtils.sendMessage(sender, "<white>  Percentage: <aqua>" + String.format("%.1f", percentage) + "%</aqua></white>");
+        MessageUtils.sendMessageUncached(sender, "<gold>Your damage to <yellow>" + args[1] + "</yellow>:</gold>");
+        MessageUtils.sendMessageUncached(sender, "<white>  Damage: <aqua>" + trackedBossManager.formatDamage(damage, bossId) + "</aqua></white>");
+        MessageUtils.sendMessageUncached(sender, "<white>  Percentage: <aqua>" + String.format("%.1f", percentage) + "%</aqua></white>");
         MessageUtils.sendMessage(sender, "");
         return true;
     }
@@ -89,7 +89,7 @@ public class TrackedBossCommands {
 
         String bossId = args[1].toUpperCase();
         if (!trackedBossManager.isTrackedBoss(bossId)) {
-            MessageUtils.sendMessage(sender, "<red>Boss '<yellow>" + args[1] + "</yellow>' is not being tracked.</red>");
+            MessageUtils.sendMessageUncached(sender, "<red>Boss '<yellow>" + args[1] + "</yellow>' is not being tracked.</red>");
             return true;
         }
 
@@ -100,7 +100,7 @@ public class TrackedBossCommands {
         }
 
         MessageUtils.sendMessage(sender, "");
-        MessageUtils.sendMessage(sender, "<gold><bold>═══ Top Damage: <yellow>" + args[1] + "</yellow> ═══</bold></gold>");
+        MessageUtils.sendMessageUncached(sender, "<gold><bold>═══ Top Damage: <yellow>" + args[1] + "</yellow> ═══</bold></gold>");
         MessageUtils.sendMessage(sender, "");
 
         for (int i = 0; i < topDamage.size(); i++) {
@@ -109,7 +109,7 @@ public class TrackedBossCommands {
             if (player != null) {
                 String position = String.valueOf(i + 1);
                 String emoji = i == 0 ? "🥇" : i == 1 ? "🥈" : i == 2 ? "🥉" : "  ";
-                MessageUtils.sendMessage(sender, "<yellow>" + emoji + " #" + position + "</yellow> <white>" + player.getName() + 
+                MessageUtils.sendMessageUncached(sender, "<yellow>" + emoji + " #" + position + "</yellow> <white>" + player.getName() + 
                     "</white> - <aqua>" + trackedBossManager.formatDamage(entry.getValue(), bossId) + 
                     "</aqua> <gray>(" + String.format("%.1f", trackedBossManager.getPlayerDamagePercentage(bossId, entry.getKey())) + "%)</gray>");
             }
@@ -138,7 +138,7 @@ public class TrackedBossCommands {
 
         String bossId = args[1].toUpperCase();
         if (!trackedBossManager.isTrackedBoss(bossId)) {
-            MessageUtils.sendMessage(sender, "<red>Boss '<yellow>" + args[1] + "</yellow>' is not being tracked.</red>");
+            MessageUtils.sendMessageUncached(sender, "<red>Boss '<yellow>" + args[1] + "</yellow>' is not being tracked.</red>");
             return true;
         }
 
@@ -148,7 +148,7 @@ public class TrackedBossCommands {
         }
 
         trackedBossManager.clearBossData(bossId);
-        MessageUtils.sendMessage(sender, "<green>✓ Damage data for <yellow>" + args[1] + "</yellow> has been cleared.</green>");
+        MessageUtils.sendMessageUncached(sender, "<green>✓ Damage data for <yellow>" + args[1] + "</yellow> has been cleared.</green>");
         return true;
     }
 
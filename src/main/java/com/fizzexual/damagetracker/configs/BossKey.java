@@ -0,0 +1,65 @@
+package com.fizzexual.damagetracker.configs;
+
+/**
+ * Canonical identity of a configured boss, with the configurations that apply to it.
+ * <p>
+ * Keys are created once per configuration load by the boss registry, so there is a single
+ * instance per boss and hot paths can pass it around instead of normalizing mob type names.
+ */
+public final class BossKey {
+    private final String id;
+    private final int hash;
+    private final boolean tracked;
+    private final BossConfig bossConfig;
+    private final RewardConfig rewardConfig;
+
+    /**
+     * Constructor for BossKey.
+     *
+     * @param id The normalized (uppercase) boss ID.
+     * @param tracked Whether damage to this boss is tracked.
+     * @param bossConfig The message configuration of the boss, or null if it has none.
+     * @param rewardConfig The reward configuration of the boss, or null if it has none.
+     */
+    public BossKey(String id, boolean tracked, BossConfig bossConfig, RewardConfig rewardConfig) {
+        this.id = id;
+        this.hash = id.hashCode();
+        this.tracked = tracked;
+        this.bossConfig = bossConfig;
+        this.rewardConfig = rewardConfig;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public boolean isTracked() {
+        return tracked;
+    }
+
+    public BossConfig getBossConfig() {
+        return bossConfig;
+    }
+
+    public RewardConfig getRewardConfig() {
+        return rewardConfig;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof BossKey)) return false;
+        BossKey other = (BossKey) o;
+        return hash == other.hash && id.equals(other.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return id;
+    }
+}
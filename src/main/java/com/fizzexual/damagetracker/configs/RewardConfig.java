@@ -8,8 +8,20 @@ import java.util.*;
  * Configuration for boss rewards based on leaderboard position.
  */
 public class RewardConfig {
+    /** Upper position bound of rewards given to every participant. */
+    public static final int ALL_PLACES = Integer.MAX_VALUE;
+
+    // Positions looked up directly in the table; ranges can be arbitrarily wide, so the table is capped
+    private static final int MAX_TABLE_SIZE = 1024;
+
     private boolean enabled;
     private final List<Reward> rewards;
+    // Rewards per position (index = position - 1), compiled from the reward list
+    private List<Reward>[] rewardsByPosition;
+    // First position of each band of positions sharing the same rewards, ascending, starting at 1
+    private int[] bandStarts;
+    // Rewards of each band, used for positions past the end of the table
+    private List<Reward>[] bandRewards;
 
     public RewardConfig() {
         this.enabled = false;
@@ -26,20 +38,97 @@ public class RewardConfig {
 
     public void addReward(Reward reward) {
         rewards.add(reward);
+        rewardsByPosition = null;
     }
 
     public List<Reward> getRewards() {
         return Collections.unmodifiableList(rewards);
     }
 
-    public List<Reward> getRewardsForPosition(int position) {
-        List<Reward> positionRewards = new ArrayList<>();
+    /**
+     * Builds the position lookup from the reward list.
+     * Positions are split into bands where every position gets the same rewards, in the configured
+     * order, so the work depends on the number of rewards and not on how wide their ranges are.
+     */
+    @SuppressWarnings("unchecked")
+    public void compile() {
+        TreeSet<Integer> boundaries = new TreeSet<>();
+        boundaries.add(1);
         for (Reward reward : rewards) {
-            if (reward.getRequiredPlace() == position) {
-                positionRewards.add(reward);
+            reward.resolve();
+            boundaries.add(reward.getMinPlace());
+            if (reward.getMaxPlace() != ALL_PLACES) {
+                boundaries.add(reward.getMaxPlace() + 1);
+            }
+        }
+
+        int[] starts = new int[boundaries.size()];
+        List<Reward>[] bands = new List[starts.length];
+        int band = 0;
+        for (int start : boundaries) {
+            List<Reward> positionRewards = new ArrayList<>();
+            for (Reward reward : rewards) {
+                if (reward.appliesTo(start)) {
+                    positionRewards.add(reward);
+                }
+            }
+            starts[band] = start;
+            bands[band] = List.copyOf(positionRewards);
+            band++;
+        }
+
+        // Every position from the last boundary on is in the last band
+        int tableSize = Math.min(starts[starts.length - 1] - 1, MAX_TABLE_SIZE);
+        List<Reward>[] table = new List[tableSize];
+        band = 0;
+        for (int position = 1; position <= tableSize; position++) {
+            if (band + 1 < starts.length && starts[band + 1] == position) {
+                band++;
             }
+            table[position - 1] = bands[band];
+        }
+
+        this.bandStarts = starts;
+        this.bandRewards = bands;
+        this.rewardsByPosition = table;
+    }
+
+    /**
+     * Gets the rewards for a leaderboard position.
+     *
+     * @param position The position, starting at 1.
+     * @return Immutable list of rewards, shared between calls.
+     */
+    public List<Reward> getRewardsForPosition(int position) {
+        List<Reward>[] table = rewardsByPosition;
+        if (table == null) {
+            compile();
+            table = rewardsByPosition;
+        }
+        if (position < 1) {
+            return Collections.emptyList();
+        }
+        if (position <= table.length) {
+            return table[position - 1];
         }
-        return positionRewards;
+        int band = Arrays.binarySearch(bandStarts, position);
+        return bandRewards[band >= 0 ? band : -band - 2];
+    }
+
+    /**
+     * How a reward is handed out, resolved once when the reward is loaded.
+     */
+    public enum RewardKind {
+        /** Item added to the inventory of the player. */
+        INVENTORY,
+        /** Item dropped once for all players it applies to. */
+        SHARED_DROP,
+        /** Item dropped separately for each player. */
+        PER_PLAYER_DROP,
+        /** Console command. */
+        COMMAND,
+        /** Reward that cannot be given (unknown type or missing item/command). */
+        NONE
     }
 
     /**
@@ -47,21 +136,26 @@ public class RewardConfig {
      */
     public static class Reward {
         private String type; // "item" or "command"
-        private int requiredPlace;
+        private int minPlace;
+        private int maxPlace;
         private boolean giveToInventory; // true = inventory, false = drop on ground
         private boolean perPlayerDrop; // if dropping, whether each player gets their own drop
         private String visibility; // "all" or "player_only" - who can see/pick up the drop
         private boolean glow;
         private ItemStack item;
         private String command;
+        private RewardKind kind;
+        private boolean playerOnly;
 
         public Reward() {
             this.type = "item";
-            this.requiredPlace = 1;
+            this.minPlace = 1;
+            this.maxPlace = 1;
             this.giveToInventory = true;
             this.perPlayerDrop = false;
             this.visibility = "all";
             this.glow = false;
+            this.kind = RewardKind.NONE;
         }
 
         public String getType() {
@@ -73,11 +167,58 @@ public class RewardConfig {
         }
 
         public int getRequiredPlace() {
-            return requiredPlace;
+            return minPlace;
         }
 
         public void setRequiredPlace(int requiredPlace) {
-            this.requiredPlace = requiredPlace;
+            setPlaceRange(requiredPlace, requiredPlace);
+        }
+
+        public int getMinPlace() {
+            return minPlace;
+        }
+
+        public int getMaxPlace() {
+            return maxPlace;
+        }
+
+        /**
+         * Sets the positions this reward is given to.
+         *
+         * @param minPlace First position, inclusive.
+         * @param maxPlace Last position, inclusive, or {@link #ALL_PLACES} for no limit.
+         */
+        public void setPlaceRange(int minPlace, int maxPlace) {
+            this.minPlace = minPlace;
+            this.maxPlace = maxPlace;
+        }
+
+        public boolean appliesTo(int position) {
+            return position >= minPlace && position <= maxPlace;
+        }
+
+        /**
+         * Gets how this reward is handed out, as resolved by {@link RewardConfig#compile()}.
+         */
+        public RewardKind getKind() {
+            return kind;
+        }
+
+        public boolean isPlayerOnly() {
+            return playerOnly;
+        }
+
+        private void resolve() {
+            playerOnly = "player_only".equalsIgnoreCase(visibility);
+            if ("command".equalsIgnoreCase(type)) {
+                kind = command != null ? RewardKind.COMMAND : RewardKind.NONE;
+            } else if (!"item".equalsIgnoreCase(type) || item == null) {
+                kind = RewardKind.NONE;
+            } else if (giveToInventory) {
+                kind = RewardKind.INVENTORY;
+            } else {
+                kind = perPlayerDrop ? RewardKind.PER_PLAYER_DROP : RewardKind.SHARED_DROP;
+            }
         }
 
         public boolean isGiveToInventory() {
@@ -0,0 +1,95 @@
+package com.fizzexual.damagetracker.data;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Damage ledger of a single boss instance.
+ */
+public class BossLedger {
+    private final UUID mobUuid;
+    private final String bossId;
+    private final DamageLedger damage;
+    private final long createdAt;
+    private volatile double maxHealth;
+
+    /**
+     * Constructor for BossLedger.
+     *
+     * @param mobUuid The UUID of the mob instance.
+     * @param bossId The normalized mob type of the boss.
+     */
+    public BossLedger(UUID mobUuid, String bossId) {
+        this.mobUuid = mobUuid;
+        this.bossId = bossId;
+        this.damage = new DamageLedger();
+        this.createdAt = System.currentTimeMillis();
+    }
+
+    /**
+     * Adds damage dealt by a player to this instance.
+     *
+     * @param playerId The UUID of the player.
+     * @param amount The amount of damage dealt.
+     */
+    public void addDamage(UUID playerId, double amount) {
+        damage.add(playerId, amount);
+    }
+
+    /**
+     * Gets the damage dealt by a player to this instance.
+     *
+     * @param playerId The UUID of the player.
+     * @return The damage dealt, or 0 if the player did not participate.
+     */
+    public double getDamage(UUID playerId) {
+        return damage.getDamage(playerId);
+    }
+
+    /**
+     * Gets when this ledger was created, i.e. when the instance was first damaged.
+     *
+     * @return The creation time in epoch milliseconds.
+     */
+    public long getCreatedAt() {
+        return createdAt;
+    }
+
+    /**
+     * Gets the damage dealt by every player to this instance.
+     *
+     * @return The underlying damage ledger.
+     */
+    public DamageLedger getDamageLedger() {
+        return damage;
+    }
+
+    /**
+     * Gets the damage dealt by every player to this instance as a map.
+     *
+     * @return Read-only live map view of player UUIDs to damage amounts.
+     */
+    public Map<UUID, Double> getDamageMap() {
+        return damage.asMap();
+    }
+
+    public boolean isEmpty() {
+        return damage.isEmpty();
+    }
+
+    public UUID getMobUuid() {
+        return mobUuid;
+    }
+
+    public String getBossId() {
+        return bossId;
+    }
+
+    public double getMaxHealth() {
+        return maxHealth;
+    }
+
+    public void setMaxHealth(double maxHealth) {
+        this.maxHealth = maxHealth;
+    }
+}
@@ -0,0 +1,534 @@
+package com.fizzexual.damagetracker.data;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Damage accumulator keyed by player UUID, backed by primitive arrays.
+ * <p>
+ * Every player gets a dense index in the order they first dealt damage. UUIDs are stored as
+ * two longs and damage as a primitive double, and an open-addressed table maps UUIDs to their
+ * dense index, so adding damage for a known player does not allocate.
+ * <p>
+ * The ledger also keeps its participants in a ranking treap ordered by damage (ties go to the
+ * player who hit first) with subtree sizes, plus a running total, so a player's rank, the player
+ * at a given rank and a player's share are all answered in O(log n) without sorting.
+ * <p>
+ * A ledger has a single writer, the server thread. Other threads must not touch the live ledger;
+ * they read the immutable {@link LedgerSnapshot} returned by {@link #snapshot()}, which the writer
+ * republishes with {@link #publish()} after changes, so writes never wait for readers.
+ */
+public class DamageLedger {
+    private static final int INITIAL_CAPACITY = 8;
+    private static final int NIL = -1;
+
+    // Open-addressed table of dense index + 1, 0 marks an empty slot
+    private int[] slots;
+    private long[] mostSigBits;
+    private long[] leastSigBits;
+    private double[] damage;
+    private int size;
+    private double total;
+    private Map<UUID, Double> mapView;
+    private boolean dirty;
+    private volatile LedgerSnapshot snapshot = LedgerSnapshot.EMPTY;
+
+    // Ranking treap, one node per dense index
+    private int[] left;
+    private int[] right;
+    private int[] subtreeSize;
+    private int[] priority;
+    private int root;
+    private int seed;
+
+    public DamageLedger() {
+        this.slots = new int[INITIAL_CAPACITY * 2];
+        this.mostSigBits = new long[INITIAL_CAPACITY];
+        this.leastSigBits = new long[INITIAL_CAPACITY];
+        this.damage = new double[INITIAL_CAPACITY];
+        this.left = new int[INITIAL_CAPACITY];
+        this.right = new int[INITIAL_CAPACITY];
+        this.subtreeSize = new int[INITIAL_CAPACITY];
+        this.priority = new int[INITIAL_CAPACITY];
+        this.root = NIL;
+        this.seed = System.identityHashCode(this) | 1;
+    }
+
+    /**
+     * Adds damage dealt by a player.
+     *
+     * @param playerId The UUID of the player.
+     * @param amount The amount of damage dealt.
+     * @return The dense index of the player.
+     */
+    public int add(UUID playerId, double amount) {
+        long msb = playerId.getMostSignificantBits();
+        long lsb = playerId.getLeastSignificantBits();
+        int mask = slots.length - 1;
+        int slot = hash(msb, lsb) & mask;
+
+        while (true) {
+            int entry = slots[slot];
+            if (entry == 0) {
+                break;
+            }
+            int index = entry - 1;
+            if (mostSigBits[index] == msb && leastSigBits[index] == lsb) {
+                // Re-rank with the new damage
+                root = remove(root, index);
+                damage[index] += amount;
+                total += amount;
+                root = insert(root, index);
+                dirty = true;
+                return index;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        // New participant
+        int index = size;
+        if (index == damage.length) {
+            grow();
+            return add(playerId, amount);
+        }
+        mostSigBits[index] = msb;
+        leastSigBits[index] = lsb;
+        damage[index] = amount;
+        slots[slot] = index + 1;
+        size++;
+        total += amount;
+        priority[index] = nextPriority();
+        root = insert(root, index);
+        dirty = true;
+        return index;
+    }
+
+    /**
+     * Gets the dense index of a player.
+     *
+     * @param playerId The UUID of the player.
+     * @return The dense index, or -1 if the player has not dealt damage.
+     */
+    public int indexOf(UUID playerId) {
+        return indexOf(playerId.getMostSignificantBits(), playerId.getLeastSignificantBits());
+    }
+
+    private int indexOf(long msb, long lsb) {
+        int mask = slots.length - 1;
+        int slot = hash(msb, lsb) & mask;
+
+        while (true) {
+            int entry = slots[slot];
+            if (entry == 0) {
+                return -1;
+            }
+            int index = entry - 1;
+            if (mostSigBits[index] == msb && leastSigBits[index] == lsb) {
+                return index;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    /**
+     * Gets the damage dealt by a player.
+     *
+     * @param playerId The UUID of the player.
+     * @return The damage dealt, or 0 if the player has not dealt damage.
+     */
+    public double getDamage(UUID playerId) {
+        int index = indexOf(playerId);
+        return index >= 0 ? damage[index] : 0.0;
+    }
+
+    public boolean contains(UUID playerId) {
+        return indexOf(playerId) >= 0;
+    }
+
+    /**
+     * Gets the damage stored at a dense index.
+     *
+     * @param index The dense index, between 0 and size() - 1.
+     * @return The damage dealt by that player.
+     */
+    public double damageAt(int index) {
+        return damage[index];
+    }
+
+    /**
+     * Gets the player stored at a dense index.
+     *
+     * @param index The dense index, between 0 and size() - 1.
+     * @return The UUID of that player.
+     */
+    public UUID playerAt(int index) {
+        return new UUID(mostSigBits[index], leastSigBits[index]);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Gets the sum of all damage in this ledger.
+     *
+     * @return The total damage.
+     */
+    public double total() {
+        return total;
+    }
+
+    /**
+     * Gets the share of the total damage dealt by a player.
+     *
+     * @param playerId The UUID of the player.
+     * @return The percentage of the total damage, or 0 if the player has not dealt damage.
+     */
+    public double percentage(UUID playerId) {
+        int index = indexOf(playerId);
+        return index >= 0 && total > 0 ? (damage[index] / total) * 100 : 0.0;
+    }
+
+    /**
+     * Gets the rank of a player, 1 being the highest damage.
+     *
+     * @param playerId The UUID of the player.
+     * @return The rank, or -1 if the player has not dealt damage.
+     */
+    public int rankOf(UUID playerId) {
+        int index = indexOf(playerId);
+        return index >= 0 ? rankOfIndex(index) : -1;
+    }
+
+    /**
+     * Gets the rank of a dense index, 1 being the highest damage.
+     *
+     * @param index The dense index, between 0 and size() - 1.
+     * @return The rank of that player.
+     */
+    public int rankOfIndex(int index) {
+        int rank = 0;
+        int node = root;
+        while (node != NIL) {
+            if (node == index) {
+                return rank + sizeOf(left[node]) + 1;
+            }
+            if (ranksBefore(index, node)) {
+                node = left[node];
+            } else {
+                rank += sizeOf(left[node]) + 1;
+                node = right[node];
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Gets the dense index of the player at a rank.
+     *
+     * @param rank The rank, 1 being the highest damage.
+     * @return The dense index, or -1 if there is no player at that rank.
+     */
+    public int indexAtRank(int rank) {
+        if (rank < 1 || rank > size) return -1;
+
+        int remaining = rank;
+        int node = root;
+        while (node != NIL) {
+            int leftSize = sizeOf(left[node]);
+            if (remaining <= leftSize) {
+                node = left[node];
+            } else if (remaining == leftSize + 1) {
+                return node;
+            } else {
+                remaining -= leftSize + 1;
+                node = right[node];
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Calls the consumer for every participant, in the order they first dealt damage.
+     *
+     * @param consumer The consumer to call.
+     */
+    public void forEach(DamageConsumer consumer) {
+        for (int i = 0; i < size; i++) {
+            consumer.accept(playerAt(i), damage[i]);
+        }
+    }
+
+    /**
+     * Gets the dense indexes of all participants sorted by damage in descending order.
+     * Ties keep the order in which players first dealt damage.
+     *
+     * @return A new array of dense indexes.
+     */
+    public int[] rankedIndices() {
+        int[] order = new int[size];
+        int[] stack = new int[size];
+        int depth = 0;
+        int count = 0;
+        int node = root;
+
+        // Iterative in-order walk of the ranking treap
+        while (node != NIL || depth > 0) {
+            while (node != NIL) {
+                stack[depth++] = node;
+                node = left[node];
+            }
+            node = stack[--depth];
+            order[count++] = node;
+            node = right[node];
+        }
+        return order;
+    }
+
+    /**
+     * Publishes a new snapshot if the ledger changed since the last one.
+     * Must be called from the thread that writes to the ledger.
+     *
+     * @return The current snapshot.
+     */
+    public LedgerSnapshot publish() {
+        if (!dirty) {
+            return snapshot;
+        }
+
+        int[] indexByRank = rankedIndices();
+        int[] rankByIndex = new int[size];
+        for (int rank = 0; rank < size; rank++) {
+            rankByIndex[indexByRank[rank]] = rank + 1;
+        }
+
+        LedgerSnapshot published = new LedgerSnapshot(
+                Arrays.copyOf(slots, slots.length),
+                Arrays.copyOf(mostSigBits, size),
+                Arrays.copyOf(leastSigBits, size),
+                Arrays.copyOf(damage, size),
+                rankByIndex,
+                indexByRank,
+                size,
+                total
+        );
+        snapshot = published;
+        dirty = false;
+        return published;
+    }
+
+    /**
+     * Gets the last published snapshot. Safe to call from any thread.
+     *
+     * @return The last published snapshot.
+     */
+    public LedgerSnapshot snapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Gets a read-only map view of this ledger.
+     * The view reads the ledger directly, so it does not copy the data and reflects later updates.
+     * Like the ledger itself, it must only be read from the writer thread.
+     *
+     * @return Map of player UUIDs to damage amounts.
+     */
+    public Map<UUID, Double> asMap() {
+        if (mapView == null) {
+            mapView = new MapView();
+        }
+        return mapView;
+    }
+
+    private boolean ranksBefore(int a, int b) {
+        return damage[a] > damage[b] || (damage[a] == damage[b] && a < b);
+    }
+
+    private int sizeOf(int node) {
+        return node == NIL ? 0 : subtreeSize[node];
+    }
+
+    private void updateSize(int node) {
+        subtreeSize[node] = sizeOf(left[node]) + sizeOf(right[node]) + 1;
+    }
+
+    private int insert(int node, int index) {
+        if (node == NIL) {
+            left[index] = NIL;
+            right[index] = NIL;
+            subtreeSize[index] = 1;
+            return index;
+        }
+
+        if (ranksBefore(index, node)) {
+            left[node] = insert(left[node], index);
+            if (priority[left[node]] > priority[node]) {
+                return rotateRight(node);
+            }
+        } else {
+            right[node] = insert(right[node], index);
+            if (priority[right[node]] > priority[node]) {
+                return rotateLeft(node);
+            }
+        }
+        updateSize(node);
+        return node;
+    }
+
+    private int remove(int node, int index) {
+        if (node == NIL) return NIL;
+        if (node == index) {
+            return join(left[node], right[node]);
+        }
+
+        if (ranksBefore(index, node)) {
+            left[node] = remove(left[node], index);
+        } else {
+            right[node] = remove(right[node], index);
+        }
+        updateSize(node);
+        return node;
+    }
+
+    // Joins two treaps where every node of a ranks before every node of b
+    private int join(int a, int b) {
+        if (a == NIL) return b;
+        if (b == NIL) return a;
+
+        if (priority[a] > priority[b]) {
+            right[a] = join(right[a], b);
+            updateSize(a);
+            return a;
+        }
+        left[b] = join(a, left[b]);
+        updateSize(b);
+        return b;
+    }
+
+    private int rotateRight(int node) {
+        int pivot = left[node];
+        left[node] = right[pivot];
+        right[pivot] = node;
+        updateSize(node);
+        updateSize(pivot);
+        return pivot;
+    }
+
+    private int rotateLeft(int node) {
+        int pivot = right[node];
+        right[node] = left[pivot];
+        left[pivot] = node;
+        updateSize(node);
+        updateSize(pivot);
+        return pivot;
+    }
+
+    private int nextPriority() {
+        // xorshift, enough to keep the treap balanced without allocating a Random
+        seed ^= seed << 13;
+        seed ^= seed >>> 17;
+        seed ^= seed << 5;
+        return seed;
+    }
+
+    private void grow() {
+        int capacity = damage.length * 2;
+        mostSigBits = Arrays.copyOf(mostSigBits, capacity);
+        leastSigBits = Arrays.copyOf(leastSigBits, capacity);
+        damage = Arrays.copyOf(damage, capacity);
+        left = Arrays.copyOf(left, capacity);
+        right = Arrays.copyOf(right, capacity);
+        subtreeSize = Arrays.copyOf(subtreeSize, capacity);
+        priority = Arrays.copyOf(priority, capacity);
+
+        // Keep the table at most half full
+        int[] newSlots = new int[capacity * 2];
+        int mask = newSlots.length - 1;
+        for (int index = 0; index < size; index++) {
+            int slot = hash(mostSigBits[index], leastSigBits[index]) & mask;
+            while (newSlots[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            newSlots[slot] = index + 1;
+        }
+        slots = newSlots;
+    }
+
+    static int hash(long msb, long lsb) {
+        long h = msb ^ lsb;
+        int x = (int) (h ^ (h >>> 32));
+        x *= 0x9E3779B9;
+        return x ^ (x >>> 16);
+    }
+
+    /**
+     * Receives a participant and its damage.
+     */
+    @FunctionalInterface
+    public interface DamageConsumer {
+        void accept(UUID playerId, double damage);
+    }
+
+    private class MapView extends AbstractMap<UUID, Double> {
+        private Set<Entry<UUID, Double>> entrySet;
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return key instanceof UUID && indexOf((UUID) key) >= 0;
+        }
+
+        @Override
+        public Double get(Object key) {
+            if (!(key instanceof UUID)) return null;
+            int index = indexOf((UUID) key);
+            return index >= 0 ? damage[index] : null;
+        }
+
+        @Override
+        public Set<Entry<UUID, Double>> entrySet() {
+            if (entrySet == null) {
+                entrySet = new AbstractSet<>() {
+                    @Override
+                    public Iterator<Entry<UUID, Double>> iterator() {
+                        return new Iterator<>() {
+                            private int next;
+
+                            @Override
+                            public boolean hasNext() {
+                                return next < size;
+                            }
+
+                            @Override
+                            public Entry<UUID, Double> next() {
+                                if (next >= size) throw new NoSuchElementException();
+                                int index = next++;
+                                return new SimpleImmutableEntry<>(playerAt(index), damage[index]);
+                            }
+                        };
+                    }
+
+                    @Override
+                    public int size() {
+                        return size;
+                    }
+                };
+            }
+            return entrySet;
+        }
+    }
+}
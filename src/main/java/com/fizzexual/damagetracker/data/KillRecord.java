@@ -0,0 +1,35 @@
+package com.fizzexual.damagetracker.data;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A completed boss fight, as stored in the kill history.
+ *
+ * @param killId The ID of the kill in the history, or 0 if it has not been stored yet.
+ * @param bossId The normalized mob type of the boss.
+ * @param mobUuid The UUID of the boss instance.
+ * @param startedAt When the instance was first damaged, in epoch milliseconds.
+ * @param killedAt When the instance died, in epoch milliseconds.
+ * @param maxHealth The maximum health of the boss.
+ * @param totalDamage The total damage dealt by all participants.
+ * @param participantCount The number of participants.
+ * @param participants The participants from the highest damage to the lowest; history queries
+ *                     for a player only include that player.
+ */
+public record KillRecord(long killId, String bossId, UUID mobUuid, long startedAt, long killedAt,
+                         double maxHealth, double totalDamage, int participantCount, List<Participant> participants) {
+
+    /**
+     * A participant of a kill.
+     *
+     * @param rank The rank of the player, 1 being the highest damage.
+     * @param playerId The UUID of the player.
+     * @param playerName The last known name of the player, or null if unknown.
+     * @param damage The damage dealt by the player.
+     * @param rewardsQueued The number of reward actions queued for the player. Actions skipped because
+     *                      the player went offline, or that failed, are still counted.
+     */
+    public record Participant(int rank, UUID playerId, String playerName, double damage, int rewardsQueued) {
+    }
+}
@@ -0,0 +1,197 @@
+package com.fizzexual.damagetracker.data;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Immutable copy of a {@link DamageLedger}, safe to read from any thread.
+ * <p>
+ * Besides the damage values, the snapshot stores the ranking in both directions,
+ * so damage, rank and share lookups are constant time.
+ */
+public final class LedgerSnapshot {
+    public static final LedgerSnapshot EMPTY = new LedgerSnapshot(new int[1], new long[0], new long[0],
+            new double[0], new int[0], new int[0], 0, 0.0);
+
+    private final int[] slots;
+    private final long[] mostSigBits;
+    private final long[] leastSigBits;
+    private final double[] damage;
+    private final int[] rankByIndex;
+    private final int[] indexByRank;
+    private final int size;
+    private final double total;
+    private volatile Map<UUID, Double> mapView;
+
+    LedgerSnapshot(int[] slots, long[] mostSigBits, long[] leastSigBits, double[] damage,
+                   int[] rankByIndex, int[] indexByRank, int size, double total) {
+        this.slots = slots;
+        this.mostSigBits = mostSigBits;
+        this.leastSigBits = leastSigBits;
+        this.damage = damage;
+        this.rankByIndex = rankByIndex;
+        this.indexByRank = indexByRank;
+        this.size = size;
+        this.total = total;
+    }
+
+    private int indexOf(UUID playerId) {
+        if (size == 0) return -1;
+
+        long msb = playerId.getMostSignificantBits();
+        long lsb = playerId.getLeastSignificantBits();
+        int mask = slots.length - 1;
+        int slot = DamageLedger.hash(msb, lsb) & mask;
+
+        while (true) {
+            int entry = slots[slot];
+            if (entry == 0) {
+                return -1;
+            }
+            int index = entry - 1;
+            if (mostSigBits[index] == msb && leastSigBits[index] == lsb) {
+                return index;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    /**
+     * Gets the damage dealt by a player.
+     *
+     * @param playerId The UUID of the player.
+     * @return The damage dealt, or 0 if the player has not dealt damage.
+     */
+    public double getDamage(UUID playerId) {
+        int index = indexOf(playerId);
+        return index >= 0 ? damage[index] : 0.0;
+    }
+
+    public boolean contains(UUID playerId) {
+        return indexOf(playerId) >= 0;
+    }
+
+    /**
+     * Gets the rank of a player, 1 being the highest damage.
+     *
+     * @param playerId The UUID of the player.
+     * @return The rank, or -1 if the player has not dealt damage.
+     */
+    public int rankOf(UUID playerId) {
+        int index = indexOf(playerId);
+        return index >= 0 ? rankByIndex[index] : -1;
+    }
+
+    /**
+     * Gets the share of the total damage dealt by a player.
+     *
+     * @param playerId The UUID of the player.
+     * @return The percentage of the total damage, or 0 if the player has not dealt damage.
+     */
+    public double percentage(UUID playerId) {
+        int index = indexOf(playerId);
+        return index >= 0 && total > 0 ? (damage[index] / total) * 100 : 0.0;
+    }
+
+    /**
+     * Gets the player at a rank.
+     *
+     * @param rank The rank, between 1 and size().
+     * @return The UUID of that player.
+     */
+    public UUID playerAtRank(int rank) {
+        int index = indexByRank[rank - 1];
+        return new UUID(mostSigBits[index], leastSigBits[index]);
+    }
+
+    /**
+     * Gets the damage of the player at a rank.
+     *
+     * @param rank The rank, between 1 and size().
+     * @return The damage dealt by that player.
+     */
+    public double damageAtRank(int rank) {
+        return damage[indexByRank[rank - 1]];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public double total() {
+        return total;
+    }
+
+    /**
+     * Gets a read-only map view of this snapshot, iterated from the highest damage to the lowest.
+     *
+     * @return Map of player UUIDs to damage amounts.
+     */
+    public Map<UUID, Double> asMap() {
+        Map<UUID, Double> view = mapView;
+        if (view == null) {
+            view = new MapView();
+            mapView = view;
+        }
+        return view;
+    }
+
+    private class MapView extends AbstractMap<UUID, Double> {
+        private final Set<Entry<UUID, Double>> entrySet = new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<UUID, Double>> iterator() {
+                return new Iterator<>() {
+                    private int rank = 1;
+
+                    @Override
+                    public boolean hasNext() {
+                        return rank <= size;
+                    }
+
+                    @Override
+                    public Entry<UUID, Double> next() {
+                        if (rank > size) throw new NoSuchElementException();
+                        int current = rank++;
+                        return new SimpleImmutableEntry<>(playerAtRank(current), damageAtRank(current));
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return key instanceof UUID && indexOf((UUID) key) >= 0;
+        }
+
+        @Override
+        public Double get(Object key) {
+            if (!(key instanceof UUID)) return null;
+            int index = indexOf((UUID) key);
+            return index >= 0 ? damage[index] : null;
+        }
+
+        @Override
+        public Set<Entry<UUID, Double>> entrySet() {
+            return entrySet;
+        }
+    }
+}
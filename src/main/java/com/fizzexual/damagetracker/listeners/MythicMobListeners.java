@@ -1,19 +1,38 @@
 package com.fizzexual.damagetracker.listeners;
 
 import com.fizzexual.damagetracker.DamageTracker;
+import com.fizzexual.damagetracker.managers.DamageAggregator;
+import com.fizzexual.damagetracker.managers.TrackedBossManager;
+import com.fizzexual.damagetracker.managers.TrackedEntityCache;
 import com.fizzexual.damagetracker.managers.VictoryMessageManager;
 import com.fizzexual.damagetracker.api.BossDamageCompletedEvent;
+import com.fizzexual.damagetracker.api.KillSnapshot;
 import com.fizzexual.damagetracker.configs.BossConfig;
+import com.fizzexual.damagetracker.configs.BossKey;
+import com.fizzexual.damagetracker.data.BossLedger;
+import com.fizzexual.damagetracker.data.KillRecord;
+import com.fizzexual.damagetracker.data.LedgerSnapshot;
+import com.fizzexual.damagetracker.metrics.PluginMetrics;
+import com.fizzexual.damagetracker.utils.ColorTranslator;
+import com.fizzexual.damagetracker.utils.MessageTemplate;
 import com.fizzexual.damagetracker.utils.MessageUtils;
 import io.lumine.mythic.bukkit.MythicBukkit;
 import io.lumine.mythic.core.mobs.ActiveMob;
 import io.lumine.mythic.bukkit.events.MythicMobDeathEvent;
+import io.lumine.mythic.bukkit.events.MythicMobDespawnEvent;
+import io.lumine.mythic.bukkit.events.MythicMobSpawnEvent;
+import net.kyori.adventure.text.Component;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
+import org.bukkit.attribute.Attribute;
+import org.bukkit.attribute.AttributeInstance;
 import org.bukkit.entity.*;
 import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.bukkit.event.entity.EntityDamageByEntityEvent;
+import org.bukkit.event.entity.EntityDeathEvent;
+import org.bukkit.event.world.EntitiesUnloadEvent;
 import org.bukkit.projectiles.ProjectileSource;
 
 import java.util.*;
@@ -28,196 +47,293 @@ public class MythicMobListeners implements Listener {
     @EventHandler
     public void onMythicMobDeath(MythicMobDeathEvent event) {
         ActiveMob activeMob = event.getMob();
+        plugin.getTrackedBossManager().getEntityCache().invalidate(activeMob.getEntity().getUniqueId());
         String mobInternalName = activeMob.getMobType();
         UUID mobUniqueId = activeMob.getUniqueId();
 
         // First check if the boss is being tracked
-        boolean isTrackedBoss = plugin.getTrackedBossManager().isTrackedBoss(mobInternalName.toUpperCase());
+        BossKey boss = plugin.getBossRegistry().getTracked(mobInternalName);
 
         // If the boss is not being tracked, ignore it completely
-        if (!isTrackedBoss) {
+        if (boss == null) {
             return;
         }
 
-        // Get the damage map and calculate event data
-        Map<UUID, Double> bossDamageMap = plugin.getDamageManager().getTrackedBossDamageMap(mobInternalName.toUpperCase());
-        double maxHealth = plugin.getDamageManager().getTrackedBossMaxHealth(mobInternalName.toUpperCase());
+        PluginMetrics metrics = plugin.getMetrics();
+        long deathStarted = metrics.start();
 
-        // Fire the BossDamageCompletedEvent
-        BossDamageCompletedEvent damageEvent = new BossDamageCompletedEvent(
+        // Fold hits still buffered for this window, the killing blow is usually among them
+        plugin.getDamageAggregator().flush();
+
+        // Build the ranked result of this instance once for the whole death pipeline
+        BossLedger ledger = plugin.getDamageManager().getLedger(mobUniqueId);
+        if (ledger != null) {
+            // Max health is only read on the first hit, pick up changes made by skills or levels since
+            ledger.setMaxHealth(readMaxHealth(activeMob.getEntity().getBukkitEntity()));
+        }
+        KillSnapshot snapshot = new KillSnapshot(
                 mobInternalName,
                 mobUniqueId,
-                new HashMap<>(bossDamageMap),
-                maxHealth
+                activeMob.getDisplayName(),
+                ledger != null ? ledger.getMaxHealth() : 0.0,
+                ledger != null ? ledger.getDamageLedger().publish() : LedgerSnapshot.EMPTY
         );
+
+        // Fire the BossDamageCompletedEvent
+        BossDamageCompletedEvent damageEvent = new BossDamageCompletedEvent(snapshot);
         Bukkit.getPluginManager().callEvent(damageEvent);
 
         // Distribute rewards if enabled
-        plugin.getLogger().info("Attempting to distribute rewards for boss: " + mobInternalName.toUpperCase());
-        plugin.getRewardManager().distributeRewards(mobInternalName.toUpperCase(), bossDamageMap, maxHealth);
-
-        // Check if the tracked boss has a message configuration
-        boolean hasMessageConfig = plugin.getBossConfigs().containsKey(mobInternalName.toUpperCase());
+        plugin.getLogger().info("Attempting to distribute rewards for boss: " + boss.getId());
+        long rewardsStarted = metrics.start();
+        int[] rewardsQueued = plugin.getRewardManager().distributeRewards(boss, snapshot);
+        metrics.stop(PluginMetrics.Section.REWARD_DISTRIBUTION, rewardsStarted);
+
+        // Append the fight to the kill history
+        if (!snapshot.isEmpty()) {
+            plugin.getDatabaseManager().recordKill(buildKillRecord(boss, snapshot,
+                    ledger != null ? ledger.getCreatedAt() : System.currentTimeMillis(), rewardsQueued));
+        }
 
         // Only process victory message if the boss has a message configuration
-        if (hasMessageConfig) {
-            processVictoryMessage(mobInternalName, mobUniqueId, activeMob, bossDamageMap, maxHealth);
+        if (boss.getBossConfig() != null) {
+            processVictoryMessage(mobInternalName, boss.getBossConfig(), activeMob, snapshot);
         }
 
-        // Schedule data cleanup
-        plugin.getTrackedBossManager().scheduleDataCleanup(mobInternalName.toUpperCase());
+        // Reload the damagetop placeholders of this boss once the final totals are written
+        plugin.getLeaderboardCache().invalidate(boss.getId());
+
+        // Schedule data cleanup for this instance
+        plugin.getTrackedBossManager().scheduleDataCleanup(mobUniqueId);
+        metrics.stop(PluginMetrics.Section.DEATH_EVENT, deathStarted);
     }
 
-    private void processVictoryMessage(String mobInternalName, UUID mobUniqueId, ActiveMob activeMob,
-                                       Map<UUID, Double> bossDamageMap, double maxHealth) {
-        // Get the boss configuration or use the default if not found
-        BossConfig bossConfig = plugin.getBossConfigs().get(mobInternalName.toUpperCase());
-        if (bossConfig == null) {
-            plugin.getLogger().info("Using default configuration for boss: " + mobInternalName);
-            bossConfig = plugin.getDefaultBossConfig();
-        }
+    @EventHandler
+    public void onMythicMobDespawn(MythicMobDespawnEvent event) {
+        // Release the ledger of instances that despawned without dying
+        plugin.getTrackedBossManager().getEntityCache().invalidate(event.getMob().getEntity().getUniqueId());
+        // Fold buffered hits first so they cannot recreate the ledger after it is released
+        plugin.getDamageAggregator().flush();
+        plugin.getTrackedBossManager().clearInstanceData(event.getMob().getUniqueId());
+    }
 
-        // Check if the boss configuration is valid
-        if (bossConfig == null) {
-            plugin.getLogger().warning("No configuration found for boss: " + mobInternalName);
-            return;
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onMythicMobSpawn(MythicMobSpawnEvent event) {
+        // Resolve the boss once here instead of on its first hit
+        TrackedBossManager trackedBossManager = plugin.getTrackedBossManager();
+        UUID entityId = event.getEntity().getUniqueId();
+        if (plugin.getBossRegistry().getTracked(event.getMobType().getInternalName()) == null) {
+            trackedBossManager.getEntityCache().putNotTracked(entityId);
+        } else if (event.getMob() != null) {
+            TrackedEntityCache.Entry entry = trackedBossManager.resolveEntity(entityId, event.getMob());
+            // Capture max health with the ledger of this instance, before any hit lands
+            if (entry.isTracked()) {
+                trackedBossManager.setBossMaxHealth(entry.boss(), event.getMob().getUniqueId(), readMaxHealth(event.getEntity()));
+            }
+        } else {
+            // Not registered with MythicMobs yet, resolved on the first hit instead
+            trackedBossManager.getEntityCache().invalidate(entityId);
         }
+    }
 
-        VictoryMessageManager messageManager = plugin.getVictoryMessageManager();
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onEntityDeath(EntityDeathEvent event) {
+        plugin.getTrackedBossManager().getEntityCache().invalidate(event.getEntity().getUniqueId());
+    }
 
-        // Get victory message template
-        String victoryMessage = messageManager.getVictoryMessage(bossConfig.getVictoryMessageId());
-        if (victoryMessage == null) {
-            plugin.getLogger().warning("No victory message found for ID: " + bossConfig.getVictoryMessageId());
-            return;
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onEntitiesUnload(EntitiesUnloadEvent event) {
+        TrackedEntityCache cache = plugin.getTrackedBossManager().getEntityCache();
+        for (Entity entity : event.getEntities()) {
+            cache.invalidate(entity.getUniqueId());
         }
+    }
+
+    private void processVictoryMessage(String mobInternalName, BossConfig bossConfig, ActiveMob activeMob, KillSnapshot snapshot) {
+        PluginMetrics metrics = plugin.getMetrics();
+        long broadcastStarted = metrics.start();
+        try {
+            // Use the default configuration if the boss has none
+            if (bossConfig == null) {
+                plugin.getLogger().info("Using default configuration for boss: " + mobInternalName);
+                bossConfig = plugin.getDefaultBossConfig();
+            }
 
-        // Get position formats
-        List<String> positionFormats = messageManager.getPositionFormat(bossConfig.getPositionFormatId());
-
-        // Get top players and prepare messages
-        List<Map.Entry<UUID, Double>> topPlayers = plugin.getTopDamage(bossDamageMap, bossConfig.getTopPlayersToShow());
-        double totalDamage = bossDamageMap.values().stream().mapToDouble(Double::doubleValue).sum();
-
-        // Create the top players message
-        StringBuilder topPlayersMessage = new StringBuilder();
-        for (int i = 0; i < Math.min(bossConfig.getTopPlayersToShow(), topPlayers.size()); i++) {
-            Map.Entry<UUID, Double> entry = topPlayers.get(i);
-            Player player = Bukkit.getPlayer(entry.getKey());
-            if (player != null) {
-                String format = i < positionFormats.size() ?
-                        positionFormats.get(i) :
-                        "<gray>{player_name}: {damage} ({percentage}%)";
-
-                String damageStr = plugin.formatDamage(entry.getValue(), maxHealth, "numeric");
-                double percentage = (entry.getValue() / totalDamage) * 100;
-                String percentageStr = String.format(plugin.percentageFormat, percentage);
-
-                String prefix = plugin.getPlayerPrefix(player);
-                prefix = prefix.replaceAll("§([0-9a-fk-or])", "<$1>");
-
-                format = format.replace("{position}", String.valueOf(i + 1))
-                        .replace("{player_name}", player.getName())
-                        .replace("{damage}", damageStr)
-                        .replace("{percentage}", percentageStr)
-                        .replace("{prefix}", prefix);
-
-                topPlayersMessage.append(format).append("\n");
+            // Check if the boss configuration is valid
+            if (bossConfig == null) {
+                plugin.getLogger().warning("No configuration found for boss: " + mobInternalName);
+                return;
+            }
+
+            VictoryMessageManager messageManager = plugin.getVictoryMessageManager();
+
+            // Get victory message template
+            MessageTemplate victoryTemplate = messageManager.getVictoryTemplate(bossConfig.getVictoryMessageId());
+            if (victoryTemplate == null) {
+                plugin.getLogger().warning("No victory message found for ID: " + bossConfig.getVictoryMessageId());
+                return;
+            }
+
+            double maxHealth = snapshot.getMaxHealth();
+            String[] positionValues = MessageTemplate.Placeholder.newValues();
+            StringBuilder builder = new StringBuilder(256);
+
+            // Create the top players message from the already ranked participants
+            int shown = Math.min(bossConfig.getTopPlayersToShow(), snapshot.getParticipantCount());
+            for (int i = 0; i < shown; i++) {
+                int rank = i + 1;
+                Player player = Bukkit.getPlayer(snapshot.getPlayerAtRank(rank));
+                if (player != null) {
+                    String prefix = ColorTranslator.sectionToMiniMessage(plugin.getPlayerPrefix(player));
+
+                    positionValues[MessageTemplate.Placeholder.POSITION.ordinal()] = String.valueOf(rank);
+                    positionValues[MessageTemplate.Placeholder.PLAYER_NAME.ordinal()] = player.getName();
+                    positionValues[MessageTemplate.Placeholder.DAMAGE.ordinal()] = plugin.formatDamage(snapshot.getDamageAtRank(rank), maxHealth, "numeric");
+                    positionValues[MessageTemplate.Placeholder.PERCENTAGE.ordinal()] = String.format(plugin.percentageFormat, snapshot.getPercentageAtRank(rank));
+                    positionValues[MessageTemplate.Placeholder.PREFIX.ordinal()] = prefix;
+
+                    messageManager.getPositionTemplate(bossConfig.getPositionFormatId(), rank)
+                            .renderTo(builder, positionValues)
+                            .append("\n");
+                }
+            }
+            String topPlayersMessage = builder.toString();
+
+            // Values shared by every player; the position values are reused for the personal message
+            String[] values = MessageTemplate.Placeholder.newValues();
+            Arrays.fill(positionValues, null);
+            values[MessageTemplate.Placeholder.BOSS_NAME.ordinal()] = snapshot.getDisplayName();
+            values[MessageTemplate.Placeholder.TOP_PLAYERS.ordinal()] = topPlayersMessage;
+
+            boolean hasPersonalDamage = victoryTemplate.contains(MessageTemplate.Placeholder.PERSONAL_DAMAGE);
+            MessageTemplate personalTemplate = messageManager.getPersonalTemplate(bossConfig.getPersonalMessageId());
+            MessageTemplate nonParticipantTemplate = messageManager.getNonParticipantTemplate(bossConfig.getNonParticipantMessageId());
+            String nonParticipantMessage = nonParticipantTemplate != null ? nonParticipantTemplate.getSource() : null;
+
+            // When {personal_damage} sits on its own line, the shared lines around it are deserialized
+            // once per kill and only the personal line is deserialized for each player
+            MessageTemplate[] parts = hasPersonalDamage ? victoryTemplate.splitAround(MessageTemplate.Placeholder.PERSONAL_DAMAGE) : null;
+            boolean splice = !hasPersonalDamage || (parts != null && isOwnLine(parts[0].getSource(), parts[1].getSource()));
+
+            Component sharedBefore = null;
+            Component sharedAfter = null;
+            Component nonParticipantComponent = null;
+            if (splice) {
+                sharedBefore = MessageUtils.deserializeUncached(hasPersonalDamage ? parts[0].render(values) : victoryTemplate.render(values));
+                sharedAfter = hasPersonalDamage ? MessageUtils.deserializeUncached(parts[1].render(values)) : Component.empty();
+                nonParticipantComponent = nonParticipantMessage != null
+                        ? MessageUtils.deserialize(nonParticipantMessage)
+                        : Component.text(MessageTemplate.Placeholder.PERSONAL_DAMAGE.getToken());
             }
-        }
 
-        // Sort all players by damage for position calculation
-        List<Map.Entry<UUID, Double>> sortedDamageList = new ArrayList<>(bossDamageMap.entrySet());
-        sortedDamageList.sort((e1, e2) -> e2.getValue().compareTo(e1.getValue()));
-
-        // Send messages based on broadcast configuration
-        for (Player player : Bukkit.getOnlinePlayers()) {
-            if (bossConfig.isBroadcastMessage() || bossDamageMap.containsKey(player.getUniqueId())) {
-                // Create personalized victory message for each player
-                String personalizedMessage = victoryMessage
-                        .replace("{boss_name}", activeMob.getDisplayName())
-                        .replace("{top_players}", topPlayersMessage.toString());
-
-                // Only process personal damage if the placeholder exists
-                if (personalizedMessage.contains("{personal_damage}")) {
-                    String personalDamageMessage;
-                    if (bossDamageMap.containsKey(player.getUniqueId())) {
+            // Send messages based on broadcast configuration
+            for (Player player : Bukkit.getOnlinePlayers()) {
+                int position = snapshot.getRank(player.getUniqueId());
+                if (bossConfig.isBroadcastMessage() || position > 0) {
+                    // Only process personal damage if the placeholder exists
+                    String personalDamageMessage = null;
+                    if (hasPersonalDamage && position > 0 && personalTemplate != null) {
                         // Player participated in the fight
-                        double playerDamage = bossDamageMap.get(player.getUniqueId());
-                        double percentage = (playerDamage / totalDamage) * 100;
-                        int position = sortedDamageList.indexOf(sortedDamageList.stream()
-                                .filter(e -> e.getKey().equals(player.getUniqueId()))
-                                .findFirst()
-                                .orElse(null)) + 1;
-
-                        String personalMessageTemplate = messageManager.getPersonalMessage(bossConfig.getPersonalMessageId());
-                        personalDamageMessage = personalMessageTemplate
-                                .replace("{position}", String.valueOf(position))
-                                .replace("{damage}", plugin.formatDamage(playerDamage, maxHealth, "numeric"))
-                                .replace("{percentage}", String.format(plugin.percentageFormat, percentage));
+                        positionValues[MessageTemplate.Placeholder.POSITION.ordinal()] = String.valueOf(position);
+                        positionValues[MessageTemplate.Placeholder.DAMAGE.ordinal()] = plugin.formatDamage(snapshot.getDamageAtRank(position), maxHealth, "numeric");
+                        positionValues[MessageTemplate.Placeholder.PERCENTAGE.ordinal()] = String.format(plugin.percentageFormat, snapshot.getPercentageAtRank(position));
+                        builder.setLength(0);
+                        personalDamageMessage = personalTemplate.renderTo(builder, positionValues).toString();
+                    }
+
+                    if (splice) {
+                        if (!hasPersonalDamage) {
+                            MessageUtils.sendMessage(player, sharedBefore);
+                            continue;
+                        }
+                        // Player didn't participate: the non-participant line is shared as well
+                        Component personal = personalDamageMessage != null
+                                ? MessageUtils.deserializeUncached(personalDamageMessage)
+                                : nonParticipantComponent;
+                        MessageUtils.sendMessage(player, Component.textOfChildren(sharedBefore, personal, sharedAfter));
                     } else {
-                        // Player didn't participate
-                        personalDamageMessage = messageManager.getNonParticipantMessage(
-                                bossConfig.getNonParticipantMessageId());
+                        // Create personalized victory message for each player
+                        if (hasPersonalDamage) {
+                            values[MessageTemplate.Placeholder.PERSONAL_DAMAGE.ordinal()] =
+                                    personalDamageMessage != null ? personalDamageMessage : nonParticipantMessage;
+                        }
+                        builder.setLength(0);
+                        MessageUtils.sendMessageUncached(player, victoryTemplate.renderTo(builder, values).toString());
                     }
-                    personalizedMessage = personalizedMessage.replace("{personal_damage}", personalDamageMessage);
                 }
-
-                MessageUtils.sendMessage(player, personalizedMessage);
             }
+        } finally {
+            metrics.stop(PluginMetrics.Section.VICTORY_BROADCAST, broadcastStarted);
         }
-    
+
         // Create hologram if configured
         if ("FANCY".equalsIgnoreCase(bossConfig.getHologramType())) {
-            List<UUID> participants = new ArrayList<>(bossDamageMap.keySet());
+            long hologramStarted = metrics.start();
             Location bossLocation = activeMob.getEntity().getBukkitEntity().getLocation();
             
             plugin.getHologramManager().createVictoryHologram(
                 mobInternalName,
                 bossConfig.getHologramType(),
                 bossConfig.getVictoryMessageId(),
-                participants,
                 bossLocation,
-                bossDamageMap,
-                maxHealth,
-                activeMob.getDisplayName()
+                snapshot
             );
+            metrics.stop(PluginMetrics.Section.HOLOGRAM_CREATION, hologramStarted);
         }
     }
 
+    // Checks if a placeholder between two parts of a message is alone on its line,
+    // so tags opened on other lines are unlikely to span the split
+    private boolean isOwnLine(String before, String after) {
+        return (before.isEmpty() || before.endsWith("\n")) && (after.isEmpty() || after.startsWith("\n"));
+    }
+
     @EventHandler
     public void onMythicMobDamage(EntityDamageByEntityEvent event) {
-        if (!(event.getEntity() instanceof LivingEntity)) return;
+        // Players are never MythicMobs, so PvP can be skipped right away
+        if (!(event.getEntity() instanceof LivingEntity) || event.getEntity() instanceof Player) return;
 
         LivingEntity entity = (LivingEntity) event.getEntity();
         Player damager = getPlayerDamager(event.getDamager());
 
         if (damager == null) return;
 
-        try {
-            ActiveMob activeMob = MythicBukkit.inst().getMobManager().getMythicMobInstance(entity);
-            if (activeMob == null) return;
-
-            String mobInternalName = activeMob.getMobType();
+        // Entities already known not to be tracked bosses exit with a single lookup
+        TrackedBossManager trackedBossManager = plugin.getTrackedBossManager();
+        TrackedEntityCache.Entry cached = trackedBossManager.getEntityCache().get(entity.getUniqueId());
+        if (cached == TrackedEntityCache.NOT_TRACKED) return;
 
-            if (!plugin.getTrackedBossManager().isTrackedBoss(mobInternalName.toUpperCase())) {
-                return;
+        PluginMetrics metrics = plugin.getMetrics();
+        long started = metrics.start();
+        try {
+            if (cached == null) {
+                ActiveMob found = MythicBukkit.inst().getMobManager().getMythicMobInstance(entity);
+                cached = trackedBossManager.resolveEntity(entity.getUniqueId(), found);
+                if (!cached.isTracked()) return;
+                // Not resolved on spawn, so its max health was not captured there either
+                trackedBossManager.setBossMaxHealth(cached.boss(), found.getUniqueId(), readMaxHealth(entity));
             }
 
-            double maxHealth = ((LivingEntity) activeMob.getEntity().getBukkitEntity()).getAttribute(org.bukkit.attribute.Attribute.GENERIC_MAX_HEALTH).getValue();
+            ActiveMob activeMob = cached.mob();
+            BossKey boss = cached.boss();
+            UUID mobUniqueId = activeMob.getUniqueId();
 
-            // Get current accumulated damage from player from TrackedBossManager
-            double currentDamage = plugin.getTrackedBossManager().getPlayerDamage(mobInternalName.toUpperCase(), damager.getUniqueId());
             double newDamage = event.getFinalDamage();
-            double totalDamage = currentDamage + newDamage;
 
-            // Update accumulated damage in TrackedBossManager
-            plugin.getTrackedBossManager().addDamage(mobInternalName.toUpperCase(), damager, newDamage);
-            plugin.getTrackedBossManager().setBossMaxHealth(mobInternalName.toUpperCase(), maxHealth);
+            // With aggregation on, the hit is folded into the ledgers and the database at the end of the window
+            DamageAggregator aggregator = plugin.getDamageAggregator();
+            if (aggregator.isEnabled()) {
+                aggregator.append(boss, mobUniqueId, damager, newDamage);
+                return;
+            }
+
+            // Update accumulated damage of this instance in TrackedBossManager,
+            // which returns the accumulated damage of the player across the live instances of this boss
+            double totalDamage = trackedBossManager.addDamage(boss, mobUniqueId, damager, newDamage);
 
             // Update database with total accumulated damage
             plugin.getDatabaseManager().updateDamage(
-                    mobInternalName,
+                    boss,
                     damager.getUniqueId(),
                     damager.getName(),
                     totalDamage // Send accumulated total instead of last hit damage
@@ -226,7 +342,27 @@ public class MythicMobListeners implements Listener {
         } catch (Exception e) {
             plugin.getLogger().warning("Error processing damage event: " + e.getMessage());
             e.printStackTrace();
+        } finally {
+            metrics.stop(PluginMetrics.Section.DAMAGE_EVENT, started);
+        }
+    }
+
+    private KillRecord buildKillRecord(BossKey boss, KillSnapshot snapshot, long startedAt, int[] rewardsQueued) {
+        int count = snapshot.getParticipantCount();
+        List<KillRecord.Participant> participants = new ArrayList<>(count);
+        for (int rank = 1; rank <= count; rank++) {
+            UUID playerId = snapshot.getPlayerAtRank(rank);
+            participants.add(new KillRecord.Participant(rank, playerId, plugin.getDamageManager().getPlayerName(playerId),
+                    snapshot.getDamageAtRank(rank), rank <= rewardsQueued.length ? rewardsQueued[rank - 1] : 0));
         }
+        return new KillRecord(0L, boss.getId(), snapshot.getMobUuid(), startedAt, System.currentTimeMillis(),
+                snapshot.getMaxHealth(), snapshot.getTotalDamage(), count, participants);
+    }
+
+    private double readMaxHealth(Entity entity) {
+        if (!(entity instanceof LivingEntity)) return 0.0;
+        AttributeInstance attribute = ((LivingEntity) entity).getAttribute(Attribute.GENERIC_MAX_HEALTH);
+        return attribute != null ? attribute.getValue() : 0.0;
     }
 
     private Player getPlayerDamager(Entity damager) {
@@ -0,0 +1,92 @@
+package com.fizzexual.damagetracker.managers;
+
+import com.fizzexual.damagetracker.DamageTracker;
+import com.fizzexual.damagetracker.configs.BossConfig;
+import com.fizzexual.damagetracker.configs.BossKey;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Maps MythicMobs internal names to their canonical {@link BossKey}.
+ * <p>
+ * Keys are rebuilt on every configuration load from the tracked bosses, the boss message
+ * configurations and the reward configurations. Each spelling of a mob type is normalized
+ * once and then answered from an alias map, so lookups on hot paths do not allocate.
+ */
+public class BossRegistry {
+    // Cached answer for mob types that are not configured anywhere
+    private static final BossKey UNKNOWN = new BossKey("", false, null, null);
+
+    private final DamageTracker plugin;
+    private volatile Map<String, BossKey> keys;
+    private final Map<String, BossKey> aliases;
+
+    /**
+     * Constructor for BossRegistry.
+     *
+     * @param plugin The main plugin instance.
+     */
+    public BossRegistry(DamageTracker plugin) {
+        this.plugin = plugin;
+        this.keys = Collections.emptyMap();
+        this.aliases = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Rebuilds every key from the loaded configurations.
+     * Must run after the tracked bosses, boss configurations and rewards are loaded.
+     */
+    public void reload() {
+        Set<String> trackedIds = plugin.getTrackedBossManager().getTrackedBossIds();
+        Map<String, BossConfig> bossConfigs = plugin.getBossConfigs();
+        RewardManager rewardManager = plugin.getRewardManager();
+
+        Set<String> ids = new HashSet<>(trackedIds);
+        ids.addAll(bossConfigs.keySet());
+        ids.addAll(rewardManager.getBossIds());
+
+        Map<String, BossKey> rebuilt = new HashMap<>();
+        for (String id : ids) {
+            rebuilt.put(id, new BossKey(id, trackedIds.contains(id), bossConfigs.get(id), rewardManager.getRewardConfig(id)));
+        }
+
+        keys = rebuilt;
+        aliases.clear();
+    }
+
+    /**
+     * Gets the key of a boss.
+     *
+     * @param mobType The MythicMobs internal name, in any case.
+     * @return The key, or null if the boss is neither tracked nor configured.
+     */
+    public BossKey get(String mobType) {
+        BossKey key = aliases.get(mobType);
+        if (key == null) {
+            key = keys.getOrDefault(mobType.toUpperCase(), UNKNOWN);
+            aliases.put(mobType, key);
+        }
+        return key == UNKNOWN ? null : key;
+    }
+
+    /**
+     * Gets the key of a boss only if its damage is tracked.
+     *
+     * @param mobType The MythicMobs internal name, in any case.
+     * @return The key, or null if the boss is not tracked.
+     */
+    public BossKey getTracked(String mobType) {
+        BossKey key = get(mobType);
+        return key != null && key.isTracked() ? key : null;
+    }
+
+    public Collection<BossKey> getKeys() {
+        return Collections.unmodifiableCollection(keys.values());
+    }
+}
@@ -0,0 +1,178 @@
+package com.fizzexual.damagetracker.managers;
+
+import com.fizzexual.damagetracker.DamageTracker;
+import com.fizzexual.damagetracker.configs.BossKey;
+import com.fizzexual.damagetracker.metrics.PluginMetrics;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Optional buffer between the damage listener and the ledgers.
+ * <p>
+ * When enabled, each tracked hit is appended to flat arrays and nothing else happens on the event.
+ * Every {@code windowTicks} ticks the buffer is folded: hits of the same player on the same boss
+ * instance are summed, then each sum is added to the ledgers and queued for the database once.
+ * High hit rates (multi-hit weapons, fire ticks, pets) then cost one ranking update and one
+ * database update per player per window instead of per hit.
+ * Only used from the server thread.
+ */
+public class DamageAggregator {
+    private static final int INITIAL_CAPACITY = 256;
+
+    // Identity of a buffered hit when folding
+    private record FoldKey(UUID mobUuid, UUID playerId) {
+    }
+
+    private final DamageTracker plugin;
+    private final Map<FoldKey, Integer> slots;
+    private BossKey[] bosses;
+    private UUID[] mobUuids;
+    private Player[] players;
+    private double[] amounts;
+    private int size;
+    private boolean enabled;
+    private int windowTicks;
+    private BukkitTask task;
+    private long foldedHits;
+    private long foldedUpdates;
+
+    /**
+     * Constructor for DamageAggregator. The aggregator starts disabled.
+     *
+     * @param plugin The main plugin instance.
+     */
+    public DamageAggregator(DamageTracker plugin) {
+        this.plugin = plugin;
+        this.slots = new HashMap<>();
+        this.bosses = new BossKey[INITIAL_CAPACITY];
+        this.mobUuids = new UUID[INITIAL_CAPACITY];
+        this.players = new Player[INITIAL_CAPACITY];
+        this.amounts = new double[INITIAL_CAPACITY];
+        this.windowTicks = 1;
+    }
+
+    /**
+     * Enables or disables aggregation. Buffered hits are folded before any change.
+     *
+     * @param enabled Whether hits are buffered.
+     * @param windowTicks Number of ticks between folds.
+     */
+    public void configure(boolean enabled, int windowTicks) {
+        flush();
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+        this.enabled = enabled;
+        this.windowTicks = Math.max(1, windowTicks);
+        if (enabled) {
+            task = Bukkit.getScheduler().runTaskTimer(plugin, this::flush, this.windowTicks, this.windowTicks);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int getWindowTicks() {
+        return windowTicks;
+    }
+
+    /**
+     * Buffers a tracked hit until the next fold.
+     *
+     * @param boss The key of the boss.
+     * @param mobUuid The UUID of the boss instance.
+     * @param player The player dealing the damage.
+     * @param amount The amount of damage dealt.
+     */
+    public void append(BossKey boss, UUID mobUuid, Player player, double amount) {
+        if (size == amounts.length) {
+            int capacity = size * 2;
+            bosses = Arrays.copyOf(bosses, capacity);
+            mobUuids = Arrays.copyOf(mobUuids, capacity);
+            players = Arrays.copyOf(players, capacity);
+            amounts = Arrays.copyOf(amounts, capacity);
+        }
+        bosses[size] = boss;
+        mobUuids[size] = mobUuid;
+        players[size] = player;
+        amounts[size] = amount;
+        size++;
+    }
+
+    /**
+     * Folds every buffered hit into the ledgers and the database queue, then publishes fresh snapshots.
+     * Also called before a boss dies or despawns, so its result includes the hits of the current window.
+     */
+    public void flush() {
+        if (size == 0) return;
+
+        PluginMetrics metrics = plugin.getMetrics();
+        long started = metrics.start();
+
+        // Sum the hits of each player on each instance into the slot of its first hit
+        for (int i = 0; i < size; i++) {
+            Integer slot = slots.putIfAbsent(new FoldKey(mobUuids[i], players[i].getUniqueId()), i);
+            if (slot != null) {
+                amounts[slot] += amounts[i];
+                amounts[i] = Double.NaN;
+            }
+        }
+
+        TrackedBossManager trackedBossManager = plugin.getTrackedBossManager();
+        DatabaseManager databaseManager = plugin.getDatabaseManager();
+        int updates = 0;
+        for (int i = 0; i < size; i++) {
+            if (Double.isNaN(amounts[i])) continue;
+            Player player = players[i];
+            try {
+                double totalDamage = trackedBossManager.addDamage(bosses[i], mobUuids[i], player, amounts[i]);
+                databaseManager.updateDamage(bosses[i], player.getUniqueId(), player.getName(), totalDamage);
+                updates++;
+            } catch (Exception e) {
+                plugin.getLogger().warning("Error folding buffered damage for " + player.getName() + ": " + e.getMessage());
+            }
+        }
+
+        foldedHits += size;
+        foldedUpdates += updates;
+        Arrays.fill(bosses, 0, size, null);
+        Arrays.fill(mobUuids, 0, size, null);
+        Arrays.fill(players, 0, size, null);
+        slots.clear();
+        size = 0;
+
+        plugin.getDamageManager().publishSnapshots();
+        metrics.stop(PluginMetrics.Section.DAMAGE_FOLD, started);
+    }
+
+    /**
+     * Stops folding and folds whatever is still buffered.
+     */
+    public void shutdown() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+        flush();
+    }
+
+    public int getBufferedHits() {
+        return size;
+    }
+
+    public long getFoldedHits() {
+        return foldedHits;
+    }
+
+    public long getFoldedUpdates() {
+        return foldedUpdates;
+    }
+}
@@ -1,17 +1,48 @@
 package com.fizzexual.damagetracker.managers;
 
+import com.fizzexual.damagetracker.data.BossLedger;
+import com.fizzexual.damagetracker.data.DamageLedger;
+import com.fizzexual.damagetracker.data.LedgerSnapshot;
 import org.bukkit.entity.Player;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 /**
  * Manages damage tracking for bosses and players.
+ * <p>
+ * Damage is written only from the server thread. Tracked boss queries read the immutable
+ * ledger snapshots published by {@link #publishSnapshots()}, so they are safe to call
+ * from any thread, including async PlaceholderAPI requests.
+ * <p>
+ * A global ledger sums every player's damage across all live bosses, and the top of its
+ * ranking is kept preformatted, so general placeholders never merge or sort anything.
  */
 public class DamageManager {
+    // Entries of the global ranking kept preformatted for placeholders
+    public static final int GLOBAL_TOP_SIZE = 10;
+
+    /**
+     * A preformatted entry of the global ranking.
+     *
+     * @param playerId The UUID of the player.
+     * @param name The last known name of the player.
+     * @param damage The total damage of the player, formatted.
+     */
+    public record GlobalTopEntry(UUID playerId, String name, String damage) {
+    }
+
     private final Map<UUID, Map<UUID, Double>> bossDamageMaps;
     private final Map<UUID, Double> bossMaxHealth;
-    private final Map<String, Map<UUID, Double>> trackedBossDamage;
-    private final Map<String, Double> trackedBossMaxHealth;
+    private final Map<UUID, BossLedger> trackedLedgers;
+    // Max health read on spawn, applied when the first hit creates the ledger of the instance
+    private final Map<UUID, Double> spawnMaxHealth;
+    private final Map<String, Set<UUID>> instancesByType;
+    private final Map<String, DamageLedger> typeLedgers;
+    private final Map<UUID, String> playerNames;
+    private DamageLedger globalLedger;
+    private volatile LedgerSnapshot globalSnapshot;
+    private volatile List<GlobalTopEntry> globalTop;
     private final String damageFormat;
     private final String percentageFormat;
 
@@ -22,10 +53,16 @@ public class DamageManager {
      * @param percentageFormat The format string for displaying percentages.
      */
     public DamageManager(String damageFormat, String percentageFormat) {
-        this.bossDamageMaps = new HashMap<>();
-        this.bossMaxHealth = new HashMap<>();
-        this.trackedBossDamage = new HashMap<>();
-        this.trackedBossMaxHealth = new HashMap<>();
+        this.bossDamageMaps = new ConcurrentHashMap<>();
+        this.bossMaxHealth = new ConcurrentHashMap<>();
+        this.trackedLedgers = new ConcurrentHashMap<>();
+        this.spawnMaxHealth = new ConcurrentHashMap<>();
+        this.instancesByType = new ConcurrentHashMap<>();
+        this.typeLedgers = new ConcurrentHashMap<>();
+        this.playerNames = new ConcurrentHashMap<>();
+        this.globalLedger = new DamageLedger();
+        this.globalSnapshot = LedgerSnapshot.EMPTY;
+        this.globalTop = Collections.emptyList();
         this.damageFormat = damageFormat;
         this.percentageFormat = percentageFormat;
     }
@@ -39,8 +76,18 @@ public class DamageManager {
      */
     public void addDamage(UUID bossId, Player player, double damage) {
         UUID playerId = player.getUniqueId();
-        bossDamageMaps.computeIfAbsent(bossId, k -> new HashMap<>())
-                .compute(playerId, (k, v) -> v == null ? damage : v + damage);
+        bossDamageMaps.computeIfAbsent(bossId, k -> new ConcurrentHashMap<>())
+                .merge(playerId, damage, Double::sum);
+        addGlobalDamage(player, damage);
+    }
+
+    private void addGlobalDamage(Player player, double damage) {
+        int size = globalLedger.size();
+        globalLedger.add(player.getUniqueId(), damage);
+        // Remember the name of new players, so top placeholders never look up offline players
+        if (globalLedger.size() != size) {
+            playerNames.put(player.getUniqueId(), player.getName());
+        }
     }
 
     /**
@@ -54,12 +101,17 @@ public class DamageManager {
     }
 
     /**
-     * Gets all damage data for all bosses.
+     * Gets all damage data for all bosses, including every tracked boss instance.
+     * Tracked instances are exposed as read-only views of their last published snapshot.
      *
      * @return A map of boss UUIDs to player damage maps.
      */
     public Map<UUID, Map<UUID, Double>> getAllDamageData() {
-        return new HashMap<>(bossDamageMaps);
+        Map<UUID, Map<UUID, Double>> allData = new HashMap<>(bossDamageMaps);
+        for (BossLedger ledger : trackedLedgers.values()) {
+            allData.put(ledger.getMobUuid(), ledger.getDamageLedger().snapshot().asMap());
+        }
+        return allData;
     }
 
     /**
@@ -156,7 +208,9 @@ public class DamageManager {
      * @param bossId The ID of the boss.
      */
     public void removeBossData(UUID bossId) {
-        bossDamageMaps.remove(bossId);
+        if (bossDamageMaps.remove(bossId) != null) {
+            rebuildGlobalLedger();
+        }
         bossMaxHealth.remove(bossId);
     }
 
@@ -166,59 +220,300 @@ public class DamageManager {
     public void clearAllData() {
         bossDamageMaps.clear();
         bossMaxHealth.clear();
+        rebuildGlobalLedger();
     }
 
     /**
-     * Adds damage dealt by a player to a tracked boss.
+     * Adds damage dealt by a player to a tracked boss instance.
+     * Must be called from the server thread.
      *
+     * @param mobUuid The UUID of the boss instance.
      * @param bossId The ID of the boss.
      * @param player The player dealing the damage.
      * @param damage The amount of damage dealt.
+     * @return The accumulated damage of the player across the live instances of this boss.
      */
-    public void addTrackedDamage(String bossId, Player player, double damage) {
+    public double addTrackedDamage(UUID mobUuid, String bossId, Player player, double damage) {
         UUID playerId = player.getUniqueId();
-        trackedBossDamage.computeIfAbsent(bossId, k -> new HashMap<>())
-                .compute(playerId, (k, v) -> v == null ? damage : v + damage);
+        getOrCreateLedger(mobUuid, bossId).addDamage(playerId, damage);
+        addGlobalDamage(player, damage);
+        // Keep the merged ranking of all live instances of this boss up to date
+        DamageLedger typeLedger = typeLedgers.get(bossId);
+        if (typeLedger == null) {
+            typeLedger = new DamageLedger();
+            typeLedgers.put(bossId, typeLedger);
+        }
+        return typeLedger.damageAt(typeLedger.add(playerId, damage));
+    }
+
+    private BossLedger getOrCreateLedger(UUID mobUuid, String bossId) {
+        BossLedger ledger = trackedLedgers.get(mobUuid);
+        if (ledger == null) {
+            ledger = new BossLedger(mobUuid, bossId);
+            Double maxHealth = spawnMaxHealth.remove(mobUuid);
+            if (maxHealth != null) {
+                ledger.setMaxHealth(maxHealth);
+            }
+            trackedLedgers.put(mobUuid, ledger);
+            instancesByType.computeIfAbsent(bossId, k -> ConcurrentHashMap.newKeySet()).add(mobUuid);
+        }
+        return ledger;
+    }
+
+    /**
+     * Publishes fresh snapshots of every tracked ledger that changed since the last call.
+     * Runs on the server thread once per tick.
+     */
+    public void publishSnapshots() {
+        for (BossLedger ledger : trackedLedgers.values()) {
+            ledger.getDamageLedger().publish();
+        }
+        for (DamageLedger ledger : typeLedgers.values()) {
+            ledger.publish();
+        }
+        publishGlobal();
+    }
+
+    private void publishGlobal() {
+        LedgerSnapshot published = globalLedger.publish();
+        if (published == globalSnapshot) return;
+
+        int count = Math.min(GLOBAL_TOP_SIZE, published.size());
+        List<GlobalTopEntry> top = new ArrayList<>(count);
+        for (int rank = 1; rank <= count; rank++) {
+            UUID playerId = published.playerAtRank(rank);
+            top.add(new GlobalTopEntry(playerId, playerNames.getOrDefault(playerId, playerId.toString()),
+                    String.format("%.2f", published.damageAtRank(rank))));
+        }
+        globalTop = Collections.unmodifiableList(top);
+        globalSnapshot = published;
+    }
+
+    // Removing damage is rare (deaths, despawns), so the global ledger is rebuilt instead of subtracted from
+    private void rebuildGlobalLedger() {
+        DamageLedger merged = new DamageLedger();
+        for (Map<UUID, Double> damageMap : bossDamageMaps.values()) {
+            damageMap.forEach(merged::add);
+        }
+        for (BossLedger ledger : trackedLedgers.values()) {
+            ledger.getDamageLedger().forEach(merged::add);
+        }
+        playerNames.keySet().removeIf(playerId -> !merged.contains(playerId));
+        globalLedger = merged;
+        publishGlobal();
+    }
+
+    /**
+     * Gets the last published global ranking of every player across all live bosses.
+     * Safe to call from any thread.
+     *
+     * @return The global snapshot.
+     */
+    public LedgerSnapshot getGlobalSnapshot() {
+        return globalSnapshot;
+    }
+
+    /**
+     * Gets the top of the global ranking, preformatted. Safe to call from any thread.
+     *
+     * @return Up to {@link #GLOBAL_TOP_SIZE} entries, from the highest damage to the lowest.
+     */
+    public List<GlobalTopEntry> getGlobalTop() {
+        return globalTop;
+    }
+
+    /**
+     * Gets the last known name of a player with damage on a live boss. Safe to call from any thread.
+     *
+     * @param playerId The UUID of the player.
+     * @return The name, or null if the player has no damage on a live boss.
+     */
+    public String getPlayerName(UUID playerId) {
+        return playerNames.get(playerId);
+    }
+
+    /**
+     * Gets the damage ledger of a tracked boss instance.
+     * The live ledger must only be read from the server thread; other threads should use its snapshot.
+     *
+     * @param mobUuid The UUID of the boss instance.
+     * @return The ledger, or null if nobody has damaged this instance.
+     */
+    public BossLedger getLedger(UUID mobUuid) {
+        return trackedLedgers.get(mobUuid);
     }
 
     /**
-     * Gets the damage map for a tracked boss.
+     * Gets the ledgers of every live instance of a tracked boss.
      *
      * @param bossId The ID of the boss.
-     * @return A map of player UUIDs to damage amounts.
+     * @return A list of ledgers, empty if no instance has been damaged.
+     */
+    public List<BossLedger> getLedgers(String bossId) {
+        Set<UUID> instances = instancesByType.get(bossId);
+        if (instances == null) return Collections.emptyList();
+
+        List<BossLedger> ledgers = new ArrayList<>(instances.size());
+        for (UUID mobUuid : instances) {
+            BossLedger ledger = trackedLedgers.get(mobUuid);
+            if (ledger != null) {
+                ledgers.add(ledger);
+            }
+        }
+        return ledgers;
+    }
+
+    /**
+     * Gets the live ledger of a tracked boss, merged across all of its live instances.
+     * Must only be read from the server thread; other threads should use its snapshot.
+     *
+     * @param bossId The ID of the boss.
+     * @return The merged ledger, or null if no instance has been damaged.
+     */
+    public DamageLedger getTrackedBossLedger(String bossId) {
+        return typeLedgers.get(bossId);
+    }
+
+    /**
+     * Gets the number of tracked boss instances that have a ledger.
+     *
+     * @return The number of live instance ledgers.
+     */
+    public int getLiveInstanceCount() {
+        return trackedLedgers.size();
+    }
+
+    /**
+     * Gets the number of tracked bosses with at least one damaged live instance.
+     *
+     * @return The number of merged boss ledgers.
+     */
+    public int getTrackedTypeCount() {
+        return typeLedgers.size();
+    }
+
+    /**
+     * Gets the number of player entries across every live instance ledger.
+     * Must be called from the server thread.
+     *
+     * @return The total number of player entries.
+     */
+    public int getLedgerEntryCount() {
+        int entries = 0;
+        for (BossLedger ledger : trackedLedgers.values()) {
+            entries += ledger.getDamageLedger().size();
+        }
+        return entries;
+    }
+
+    /**
+     * Gets the damage map for a tracked boss, merged across all of its live instances.
+     *
+     * @param bossId The ID of the boss.
+     * @return A read-only view of the last published snapshot, from the highest damage to the lowest.
      */
     public Map<UUID, Double> getTrackedBossDamageMap(String bossId) {
-        return new HashMap<>(trackedBossDamage.getOrDefault(bossId, new HashMap<>()));
+        return getTypeSnapshot(bossId).asMap();
+    }
+
+    private LedgerSnapshot getTypeSnapshot(String bossId) {
+        DamageLedger ledger = typeLedgers.get(bossId);
+        return ledger != null ? ledger.snapshot() : LedgerSnapshot.EMPTY;
     }
 
     /**
-     * Sets the maximum health of a tracked boss.
+     * Gets the last published ranking of a tracked boss, merged across its live instances.
+     * Safe to call from any thread.
      *
      * @param bossId The ID of the boss.
+     * @return The snapshot, empty if no instance has been damaged.
+     */
+    public LedgerSnapshot getTrackedBossSnapshot(String bossId) {
+        return getTypeSnapshot(bossId);
+    }
+
+    private void rebuildTypeLedger(String bossId) {
+        DamageLedger merged = new DamageLedger();
+        for (BossLedger ledger : getLedgers(bossId)) {
+            ledger.getDamageLedger().forEach(merged::add);
+        }
+        if (merged.isEmpty()) {
+            typeLedgers.remove(bossId);
+        } else {
+            // Publish before swapping so readers never see an empty snapshot
+            merged.publish();
+            typeLedgers.put(bossId, merged);
+        }
+    }
+
+    /**
+     * Sets the maximum health of a tracked boss instance.
+     * If the instance has not been damaged yet, the value is kept until its first hit creates the
+     * ledger, so the ledger still starts with the fight.
+     *
+     * @param mobUuid The UUID of the boss instance.
+     * @param bossId The ID of the boss.
      * @param health The maximum health to set for the boss.
      */
-    public void setTrackedBossMaxHealth(String bossId, double health) {
-        trackedBossMaxHealth.put(bossId, health);
+    public void setTrackedBossMaxHealth(UUID mobUuid, String bossId, double health) {
+        BossLedger ledger = trackedLedgers.get(mobUuid);
+        if (ledger != null) {
+            ledger.setMaxHealth(health);
+        } else {
+            spawnMaxHealth.put(mobUuid, health);
+        }
     }
 
     /**
      * Gets the maximum health of a tracked boss.
+     * When several instances are alive, the highest value is returned.
      *
      * @param bossId The ID of the boss.
      * @return The maximum health of the boss.
      */
     public double getTrackedBossMaxHealth(String bossId) {
-        return trackedBossMaxHealth.getOrDefault(bossId, 0.0);
+        double maxHealth = 0.0;
+        for (BossLedger ledger : getLedgers(bossId)) {
+            maxHealth = Math.max(maxHealth, ledger.getMaxHealth());
+        }
+        return maxHealth;
     }
 
     /**
-     * Removes all data related to a tracked boss.
+     * Removes the data of a single tracked boss instance.
+     *
+     * @param mobUuid The UUID of the boss instance.
+     */
+    public void removeTrackedInstance(UUID mobUuid) {
+        spawnMaxHealth.remove(mobUuid);
+        BossLedger ledger = trackedLedgers.remove(mobUuid);
+        if (ledger == null) return;
+
+        Set<UUID> instances = instancesByType.get(ledger.getBossId());
+        if (instances != null) {
+            instances.remove(mobUuid);
+            if (instances.isEmpty()) {
+                instancesByType.remove(ledger.getBossId());
+            }
+        }
+        rebuildTypeLedger(ledger.getBossId());
+        rebuildGlobalLedger();
+    }
+
+    /**
+     * Removes the data of every instance of a tracked boss.
      *
      * @param bossId The ID of the boss.
      */
     public void removeTrackedBossData(String bossId) {
-        trackedBossDamage.remove(bossId);
-        trackedBossMaxHealth.remove(bossId);
+        Set<UUID> instances = instancesByType.remove(bossId);
+        typeLedgers.remove(bossId);
+        if (instances == null) return;
+
+        for (UUID mobUuid : instances) {
+            trackedLedgers.remove(mobUuid);
+        }
+        rebuildGlobalLedger();
     }
 
     /**
@@ -229,25 +524,26 @@ public class DamageManager {
      * @return A list of entries sorted by damage in descending order.
      */
     public List<Map.Entry<UUID, Double>> getTrackedTopDamage(String bossId, int limit) {
-        Map<UUID, Double> bossData = getTrackedBossDamageMap(bossId);
-        if (bossData.isEmpty()) return new ArrayList<>();
+        LedgerSnapshot snapshot = getTypeSnapshot(bossId);
+        if (snapshot.isEmpty()) return new ArrayList<>();
 
-        return bossData.entrySet().stream()
-                .sorted((e1, e2) -> e2.getValue().compareTo(e1.getValue()))
-                .limit(limit)
-                .toList();
+        int count = Math.min(limit, snapshot.size());
+        List<Map.Entry<UUID, Double>> topDamage = new ArrayList<>(count);
+        for (int rank = 1; rank <= count; rank++) {
+            topDamage.add(new AbstractMap.SimpleImmutableEntry<>(snapshot.playerAtRank(rank), snapshot.damageAtRank(rank)));
+        }
+        return topDamage;
     }
 
     /**
-     * Gets the damage dealt by a player to a tracked boss.
+     * Gets the damage dealt by a player to a tracked boss, summed across its live instances.
      *
      * @param bossId The ID of the boss.
      * @param playerId The UUID of the player.
      * @return The damage dealt by the player.
      */
     public double getTrackedPlayerDamage(String bossId, UUID playerId) {
-        return trackedBossDamage.getOrDefault(bossId, new HashMap<>())
-                .getOrDefault(playerId, 0.0);
+        return getTypeSnapshot(bossId).getDamage(playerId);
     }
 
     /**
@@ -258,13 +554,7 @@ public class DamageManager {
      * @return The percentage of total damage dealt by the player.
      */
     public double getTrackedPlayerDamagePercentage(String bossId, UUID playerId) {
-        Map<UUID, Double> bossData = getTrackedBossDamageMap(bossId);
-        if (bossData.isEmpty()) return 0.0;
-
-        double playerDamage = bossData.getOrDefault(playerId, 0.0);
-        double totalDamage = bossData.values().stream().mapToDouble(Double::doubleValue).sum();
-
-        return totalDamage > 0 ? (playerDamage / totalDamage) * 100 : 0.0;
+        return getTypeSnapshot(bossId).percentage(playerId);
     }
 
     /**
@@ -275,16 +565,8 @@ public class DamageManager {
      * @return An optional containing the position of the player, or empty if the player is not in the ranking.
      */
     public Optional<Integer> getTrackedPlayerPosition(String bossId, UUID playerId) {
-        Map<UUID, Double> bossData = getTrackedBossDamageMap(bossId);
-        if (bossData.isEmpty() || !bossData.containsKey(playerId)) return Optional.empty();
-
-        List<UUID> sortedPlayers = bossData.entrySet().stream()
-                .sorted((e1, e2) -> e2.getValue().compareTo(e1.getValue()))
-                .map(Map.Entry::getKey)
-                .toList();
-
-        int position = sortedPlayers.indexOf(playerId) + 1;
-        return Optional.of(position);
+        int position = getTypeSnapshot(bossId).rankOf(playerId);
+        return position > 0 ? Optional.of(position) : Optional.empty();
     }
 
     /**
@@ -295,7 +577,7 @@ public class DamageManager {
      * @return A formatted string representing the damage.
      */
     public String formatTrackedDamage(double damage, String bossId) {
-        double maxHealth = trackedBossMaxHealth.getOrDefault(bossId, 0.0);
+        double maxHealth = getTrackedBossMaxHealth(bossId);
         if (maxHealth > 0) {
             double percentage = (damage / maxHealth) * 100;
             return String.format(damageFormat + " (%" + percentageFormat + ")", damage, percentage);
@@ -307,7 +589,9 @@ public class DamageManager {
      * Clears all tracked damage and health data.
      */
     public void clearAllTrackedData() {
-        trackedBossDamage.clear();
-        trackedBossMaxHealth.clear();
+        trackedLedgers.clear();
+        instancesByType.clear();
+        typeLedgers.clear();
+        rebuildGlobalLedger();
     }
 }
@@ -0,0 +1,270 @@
+package com.fizzexual.damagetracker.managers;
+
+import com.fizzexual.damagetracker.DamageTracker;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+
+/**
+ * Write-behind queue for boss damage totals.
+ * Updates are coalesced per (boss, player) so only the latest total is kept,
+ * and a dedicated background thread writes them in batched transactions.
+ */
+public class DamageWriteQueue {
+
+    /**
+     * What to do with an update for a new (boss, player) pair once the queue is full.
+     */
+    public enum OverflowPolicy {
+        /**
+         * Keep the update and have the writer thread flush right away, never writing on the calling thread.
+         * Updates are dropped once twice maxPending pairs are waiting.
+         */
+        CALLER_RUNS,
+        /** Discard the update; the next update for that pair will try again. */
+        DROP
+    }
+
+    /**
+     * Writes a batch of damage rows in a single transaction.
+     */
+    @FunctionalInterface
+    public interface BatchWriter {
+        void write(List<PendingDamage> batch) throws SQLException;
+    }
+
+    /**
+     * Key identifying a single damage row.
+     */
+    public record DamageKey(String bossName, UUID playerUuid) {
+    }
+
+    /**
+     * Latest known damage total for a (boss, player) pair.
+     */
+    public record PendingDamage(DamageKey key, String playerName, double damage) {
+    }
+
+    private final DamageTracker plugin;
+    private final BatchWriter writer;
+    private final Map<DamageKey, PendingDamage> pending;
+    private final ScheduledExecutorService executor;
+    private final AtomicBoolean flushRequested;
+    private final AtomicLong rowsWritten;
+    private final AtomicLong batchesWritten;
+    private final AtomicLong droppedUpdates;
+    private final long flushIntervalMillis;
+    private final int batchSize;
+    private final int maxPending;
+    private final long overflowLimit;
+    private final OverflowPolicy overflowPolicy;
+    private volatile long lastOverflowWarning;
+
+    /**
+     * Constructor for DamageWriteQueue.
+     *
+     * @param plugin The main plugin instance.
+     * @param writer The callback that persists a batch of rows.
+     * @param flushIntervalMillis How often pending rows are flushed.
+     * @param batchSize Number of pending rows that triggers an early flush, and the maximum rows per transaction.
+     * @param maxPending Maximum number of distinct (boss, player) pairs waiting to be written.
+     * @param overflowPolicy What to do when maxPending is reached.
+     */
+    public DamageWriteQueue(DamageTracker plugin, BatchWriter writer, long flushIntervalMillis,
+                            int batchSize, int maxPending, OverflowPolicy overflowPolicy) {
+        this.plugin = plugin;
+        this.writer = writer;
+        this.pending = new ConcurrentHashMap<>();
+        this.flushRequested = new AtomicBoolean(false);
+        this.rowsWritten = new AtomicLong();
+        this.batchesWritten = new AtomicLong();
+        this.droppedUpdates = new AtomicLong();
+        this.flushIntervalMillis = Math.max(50L, flushIntervalMillis);
+        this.batchSize = Math.max(1, batchSize);
+        this.maxPending = Math.max(this.batchSize, maxPending);
+        this.overflowLimit = this.maxPending * 2L;
+        this.overflowPolicy = overflowPolicy;
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "EtherealDrops-DB-Writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.executor.scheduleWithFixedDelay(this::flushSafely, this.flushIntervalMillis,
+                this.flushIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Queues the latest damage total for a player, replacing any value not yet written.
+     *
+     * @param bossName The boss name, already normalized.
+     * @param playerUuid The UUID of the player.
+     * @param playerName The name of the player.
+     * @param damage The accumulated damage of the player.
+     */
+    public void offer(String bossName, UUID playerUuid, String playerName, double damage) {
+        DamageKey key = new DamageKey(bossName, playerUuid);
+        PendingDamage update = new PendingDamage(key, playerName, damage);
+
+        PendingDamage previous = pending.put(key, update);
+        int size = pending.size();
+        if (previous == null && size > maxPending) {
+            handleOverflow(update, size);
+            return;
+        }
+
+        if (size >= batchSize) {
+            requestFlush();
+        }
+    }
+
+    private void handleOverflow(PendingDamage update, int size) {
+        // The row stays in the queue, so the single writer thread still writes the totals of a pair in order
+        if (overflowPolicy == OverflowPolicy.CALLER_RUNS && size <= overflowLimit) {
+            requestFlush();
+            return;
+        }
+
+        if (!pending.remove(update.key(), update)) {
+            // A newer value replaced ours in the meantime, keep it
+            return;
+        }
+
+        droppedUpdates.incrementAndGet();
+        long now = System.currentTimeMillis();
+        if (now - lastOverflowWarning > 60_000L) {
+            lastOverflowWarning = now;
+            plugin.getLogger().warning("Damage write queue is full (" + maxPending
+                    + " pending rows), dropping updates. Dropped so far: " + droppedUpdates.get());
+        }
+        requestFlush();
+    }
+
+    private void requestFlush() {
+        if (flushRequested.compareAndSet(false, true)) {
+            try {
+                executor.execute(this::flushSafely);
+            } catch (Exception e) {
+                // Executor is shutting down, the final drain will pick the rows up
+                flushRequested.set(false);
+            }
+        }
+    }
+
+    /**
+     * Writes everything pending, then runs an action on the writer thread.
+     * Used to read rows back once the latest totals are in the database.
+     *
+     * @param action The action to run after the flush.
+     */
+    public void runAfterFlush(Runnable action) {
+        try {
+            executor.execute(() -> {
+                flushSafely();
+                try {
+                    action.run();
+                } catch (Throwable t) {
+                    plugin.getLogger().log(Level.SEVERE, "Unexpected error after flushing damage writes", t);
+                }
+            });
+        } catch (Exception e) {
+            // Executor is shutting down, nothing will read the rows anymore
+        }
+    }
+
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (Throwable t) {
+            plugin.getLogger().log(Level.SEVERE, "Unexpected error while flushing damage writes", t);
+        }
+    }
+
+    /**
+     * Writes every pending row, batchSize rows per transaction.
+     *
+     * @return false if a batch failed and its rows were put back in the queue.
+     */
+    private boolean flush() {
+        flushRequested.set(false);
+        if (pending.isEmpty()) return true;
+
+        List<PendingDamage> batch = new ArrayList<>(Math.min(pending.size(), batchSize));
+        for (PendingDamage update : pending.values()) {
+            // Only take the exact value we saw, a newer one stays queued for the next flush
+            if (pending.remove(update.key(), update)) {
+                batch.add(update);
+            }
+            if (batch.size() >= batchSize) {
+                if (!writeBatch(batch)) return false;
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+        return batch.isEmpty() || writeBatch(batch);
+    }
+
+    private boolean writeBatch(List<PendingDamage> batch) {
+        try {
+            writer.write(batch);
+            rowsWritten.addAndGet(batch.size());
+            batchesWritten.incrementAndGet();
+            return true;
+        } catch (SQLException e) {
+            plugin.getLogger().severe("Could not write damage batch of " + batch.size() + " rows: " + e.getMessage());
+            // Put the rows back unless a newer total arrived while we were writing
+            for (PendingDamage update : batch) {
+                pending.putIfAbsent(update.key(), update);
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Stops the background writer and writes everything still pending on the calling thread.
+     */
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+                plugin.getLogger().warning("Damage writer did not stop in time, forcing shutdown");
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+
+        int remaining = pending.size();
+        if (remaining > 0) {
+            plugin.getLogger().info("Writing " + remaining + " pending damage rows before shutdown");
+        }
+        if (!flush()) {
+            plugin.getLogger().severe("Could not write " + pending.size() + " damage rows on shutdown");
+        }
+    }
+
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    public long getRowsWritten() {
+        return rowsWritten.get();
+    }
+
+    public long getBatchesWritten() {
+        return batchesWritten.get();
+    }
+
+    public long getDroppedUpdates() {
+        return droppedUpdates.get();
+    }
+}
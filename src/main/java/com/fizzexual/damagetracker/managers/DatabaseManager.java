@@ -1,18 +1,55 @@
 package com.fizzexual.damagetracker.managers;
 
 import com.fizzexual.damagetracker.DamageTracker;
+import com.fizzexual.damagetracker.configs.BossKey;
+import com.fizzexual.damagetracker.data.KillRecord;
+import com.fizzexual.damagetracker.metrics.PluginMetrics;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.bukkit.configuration.ConfigurationSection;
 
 import java.io.File;
 import java.sql.*;
 import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class DatabaseManager {
     private final DamageTracker plugin;
+    // SQLite uses a single connection, MySQL borrows connections from the pool
     private Connection connection;
+    private HikariDataSource dataSource;
+    // Statements prepared once on the SQLite connection, by SQL text
+    private final Map<String, PreparedStatement> statements = new HashMap<>();
+    private ExecutorService executor;
+    private DamageWriteQueue writeQueue;
+    // Kills waiting to be appended to the history by the database executor
+    private final Queue<KillRecord> pendingKills = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean killFlushRequested = new AtomicBoolean();
+    private boolean killHistoryEnabled;
+
+    /**
+     * Work done with a database connection.
+     */
+    @FunctionalInterface
+    public interface ConnectionWork<T> {
+        T run(Connection connection) throws SQLException;
+    }
 
     public DatabaseManager(DamageTracker plugin) {
         this.plugin = plugin;
+        this.killHistoryEnabled = plugin.getConfig().getBoolean("database.kill_history.enabled", true);
         this.initializeDatabase();
+        this.initializeExecutor();
+        this.initializeWriteQueue();
     }
 
     private void initializeDatabase() {
@@ -28,73 +65,413 @@ public class DatabaseManager {
                 initializeSQLite();
             }
 
-            createTables();
-        } catch (SQLException | ClassNotFoundException e) {
+            migrateSchema();
+        } catch (SQLException | ClassNotFoundException | RuntimeException e) {
             plugin.getLogger().severe("Could not initialize database: " + e.getMessage());
             e.printStackTrace();
         }
     }
 
+    private void initializeExecutor() {
+        int threads = Math.max(1, plugin.getConfig().getInt("database.executor.threads", 2));
+        int queueSize = Math.max(1, plugin.getConfig().getInt("database.executor.queue_size", 256));
+        AtomicInteger threadCount = new AtomicInteger();
+
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueSize), runnable -> {
+                    Thread thread = new Thread(runnable, "EtherealDrops-DB-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+        pool.allowCoreThreadTimeOut(true);
+        executor = pool;
+    }
+
+    private void initializeWriteQueue() {
+        long flushInterval = plugin.getConfig().getLong("database.write_behind.flush_interval_ms", 1000L);
+        int batchSize = plugin.getConfig().getInt("database.write_behind.batch_size", 200);
+        int maxPending = plugin.getConfig().getInt("database.write_behind.max_pending", 10000);
+        String policyName = plugin.getConfig().getString("database.write_behind.overflow_policy", "drop");
+
+        DamageWriteQueue.OverflowPolicy policy;
+        try {
+            policy = DamageWriteQueue.OverflowPolicy.valueOf(policyName.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            plugin.getLogger().warning("Unknown overflow_policy: " + policyName + ". Using drop.");
+            policy = DamageWriteQueue.OverflowPolicy.DROP;
+        }
+
+        writeQueue = new DamageWriteQueue(plugin, this::writeDamageBatch, flushInterval, batchSize, maxPending, policy);
+    }
+
     private void initializeSQLite() throws SQLException, ClassNotFoundException {
         Class.forName("org.sqlite.JDBC");
         String fileName = plugin.getConfig().getString("database.sqlite.file", "etherealdrops.db");
         connection = DriverManager.getConnection("jdbc:sqlite:" +
                 new File(plugin.getDataFolder(), fileName).getAbsolutePath());
+
+        // WAL lets readers run while the writer commits, and commits no longer rewrite a rollback journal
+        String synchronous = plugin.getConfig().getString("database.sqlite.synchronous", "normal").toUpperCase();
+        if (!List.of("OFF", "NORMAL", "FULL", "EXTRA").contains(synchronous)) {
+            plugin.getLogger().warning("Unknown sqlite synchronous level: " + synchronous + ". Using NORMAL.");
+            synchronous = "NORMAL";
+        }
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("PRAGMA journal_mode=WAL");
+            stmt.execute("PRAGMA synchronous=" + synchronous);
+            stmt.execute("PRAGMA busy_timeout=" + plugin.getConfig().getInt("database.sqlite.busy_timeout_ms", 5000));
+        }
         plugin.getLogger().info("Connected to SQLite database: " + fileName);
     }
 
-    private void initializeMySQL() throws SQLException {
+    private void initializeMySQL() {
         String host = plugin.getConfig().getString("database.mysql.host", "localhost");
         int port = plugin.getConfig().getInt("database.mysql.port", 3306);
         String database = plugin.getConfig().getString("database.mysql.database", "etherealdrops");
         String username = plugin.getConfig().getString("database.mysql.username", "root");
         String password = plugin.getConfig().getString("database.mysql.password", "password");
         boolean useSSL = plugin.getConfig().getBoolean("database.mysql.useSSL", false);
+        ConfigurationSection pool = plugin.getConfig().getConfigurationSection("database.mysql.pool");
 
-        String url = String.format("jdbc:mysql://%s:%d/%s?useSSL=%s", host, port, database, useSSL);
-        connection = DriverManager.getConnection(url, username, password);
-        plugin.getLogger().info("Connected to MySQL database: " + database);
+        HikariConfig config = new HikariConfig();
+        config.setPoolName("EtherealDrops-Pool");
+        config.setJdbcUrl(String.format("jdbc:mysql://%s:%d/%s?useSSL=%s", host, port, database, useSSL));
+        config.setUsername(username);
+        config.setPassword(password);
+        config.setMaximumPoolSize(pool != null ? pool.getInt("maximum_pool_size", 4) : 4);
+        config.setMinimumIdle(pool != null ? pool.getInt("minimum_idle", 1) : 1);
+        config.setConnectionTimeout(pool != null ? pool.getLong("connection_timeout_ms", 5000L) : 5000L);
+        config.setIdleTimeout(pool != null ? pool.getLong("idle_timeout_ms", 600000L) : 600000L);
+        config.setMaxLifetime(pool != null ? pool.getLong("max_lifetime_ms", 1800000L) : 1800000L);
+        config.setKeepaliveTime(pool != null ? pool.getLong("keepalive_ms", 300000L) : 300000L);
+        // Let the MySQL driver cache statements and send batches as multi-row inserts
+        config.addDataSourceProperty("cachePrepStmts", "true");
+        config.addDataSourceProperty("prepStmtCacheSize", "64");
+        config.addDataSourceProperty("prepStmtCacheSqlLimit", "2048");
+        config.addDataSourceProperty("useServerPrepStmts", "true");
+        config.addDataSourceProperty("rewriteBatchedStatements", "true");
+
+        dataSource = new HikariDataSource(config);
+        plugin.getLogger().info("Connected to MySQL database: " + database
+                + " (pool of " + config.getMaximumPoolSize() + " connections)");
     }
 
-    private void createTables() {
-        try (Statement stmt = connection.createStatement()) {
-            stmt.execute("""
-                CREATE TABLE IF NOT EXISTS boss_damage (
-                    boss_name TEXT,
-                    player_uuid TEXT,
-                    player_name TEXT,
-                    damage DOUBLE,
-                    last_updated TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-                    PRIMARY KEY (boss_name, player_uuid)
-                )
-            """);
+    private boolean isMySQL() {
+        return dataSource != null;
+    }
+
+    /**
+     * Runs work with a database connection. MySQL borrows a validated connection from the pool,
+     * which also replaces connections lost to network errors. SQLite shares its single connection,
+     * one caller at a time.
+     */
+    private <T> T withConnection(ConnectionWork<T> work) throws SQLException {
+        if (dataSource != null) {
+            try (Connection pooled = dataSource.getConnection()) {
+                return work.run(pooled);
+            }
+        }
+        synchronized (this) {
+            if (connection == null || connection.isClosed()) {
+                throw new SQLException("Database connection is not available");
+            }
+            return work.run(connection);
+        }
+    }
+
+    /**
+     * Runs database work on the database executor, so it never blocks the server thread.
+     *
+     * @param work The work to run.
+     * @return A future completed with the result, or exceptionally if the work failed or the executor is full.
+     */
+    public <T> CompletableFuture<T> submit(ConnectionWork<T> work) {
+        return supplyAsync(() -> withConnection(work));
+    }
+
+    private <T> CompletableFuture<T> supplyAsync(Callable<T> task) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            executor.execute(() -> {
+                try {
+                    future.complete(task.call());
+                } catch (Throwable t) {
+                    future.completeExceptionally(t);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    /**
+     * Brings the schema up to date. Each step upgrades it by one version and is applied once,
+     * in order, so existing databases are upgraded in place.
+     * Append new steps at the end, never edit a released one.
+     * <p>
+     * MySQL commits DDL implicitly, so a failed version cannot be rolled back. Every statement
+     * must therefore be safe to run again: tables use IF NOT EXISTS and indexes go through
+     * {@link #index(String, String, String)}.
+     */
+    private List<List<MigrationStep>> schemaMigrations() {
+        return List.of(
+                // 1: damage totals, MySQL cannot index TEXT columns without a length
+                List.of(sql(isMySQL() ? """
+                        CREATE TABLE IF NOT EXISTS boss_damage (
+                            boss_name VARCHAR(64) NOT NULL,
+                            player_uuid CHAR(36) NOT NULL,
+                            player_name VARCHAR(32),
+                            damage DOUBLE,
+                            last_updated TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+                            PRIMARY KEY (boss_name, player_uuid)
+                        )
+                    """ : """
+                        CREATE TABLE IF NOT EXISTS boss_damage (
+                            boss_name TEXT,
+                            player_uuid TEXT,
+                            player_name TEXT,
+                            damage DOUBLE,
+                            last_updated TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+                            PRIMARY KEY (boss_name, player_uuid)
+                        )
+                    """)),
+                // 2: leaderboards read the top damage of one boss
+                List.of(index("idx_boss_damage_ranking", "boss_damage", "boss_name, damage DESC")),
+                // 3: kill history, one row per kill plus one row per participant
+                List.of(sql(isMySQL() ? """
+                        CREATE TABLE IF NOT EXISTS boss_kills (
+                            kill_id BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+                            boss_name VARCHAR(64) NOT NULL,
+                            mob_uuid CHAR(36) NOT NULL,
+                            started_at BIGINT NOT NULL,
+                            killed_at BIGINT NOT NULL,
+                            max_health DOUBLE NOT NULL,
+                            total_damage DOUBLE NOT NULL,
+                            participants INT NOT NULL
+                        )
+                    """ : """
+                        CREATE TABLE IF NOT EXISTS boss_kills (
+                            kill_id INTEGER PRIMARY KEY,
+                            boss_name TEXT NOT NULL,
+                            mob_uuid TEXT NOT NULL,
+                            started_at INTEGER NOT NULL,
+                            killed_at INTEGER NOT NULL,
+                            max_health DOUBLE NOT NULL,
+                            total_damage DOUBLE NOT NULL,
+                            participants INTEGER NOT NULL
+                        )
+                    """), sql(isMySQL() ? """
+                        CREATE TABLE IF NOT EXISTS boss_kill_participants (
+                            kill_id BIGINT NOT NULL,
+                            player_rank INT NOT NULL,
+                            player_uuid CHAR(36) NOT NULL,
+                            player_name VARCHAR(32),
+                            damage DOUBLE NOT NULL,
+                            rewards_queued INT NOT NULL,
+                            PRIMARY KEY (kill_id, player_rank)
+                        )
+                    """ : """
+                        CREATE TABLE IF NOT EXISTS boss_kill_participants (
+                            kill_id INTEGER NOT NULL,
+                            player_rank INTEGER NOT NULL,
+                            player_uuid TEXT NOT NULL,
+                            player_name TEXT,
+                            damage DOUBLE NOT NULL,
+                            rewards_queued INTEGER NOT NULL,
+                            PRIMARY KEY (kill_id, player_rank)
+                        ) WITHOUT ROWID
+                    """),
+                        index("idx_boss_kills_boss", "boss_kills", "boss_name, killed_at DESC"),
+                        index("idx_kill_participants_player", "boss_kill_participants", "player_uuid, kill_id DESC"))
+        );
+    }
+
+    /**
+     * One idempotent statement of a schema migration.
+     */
+    @FunctionalInterface
+    private interface MigrationStep {
+        void apply(Connection connection) throws SQLException;
+    }
+
+    private MigrationStep sql(String sql) {
+        return conn -> {
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute(sql);
+            }
+        };
+    }
+
+    // MySQL has no CREATE INDEX IF NOT EXISTS, so the index is looked up first
+    private MigrationStep index(String name, String table, String columns) {
+        return conn -> {
+            if (!isMySQL()) {
+                sql("CREATE INDEX IF NOT EXISTS " + name + " ON " + table + " (" + columns + ")").apply(conn);
+                return;
+            }
+            try (PreparedStatement pstmt = conn.prepareStatement("""
+                    SELECT 1 FROM information_schema.statistics
+                    WHERE table_schema = DATABASE() AND table_name = ? AND index_name = ?
+                    LIMIT 1
+                """)) {
+                pstmt.setString(1, table);
+                pstmt.setString(2, name);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    if (rs.next()) return;
+                }
+            }
+            sql("CREATE INDEX " + name + " ON " + table + " (" + columns + ")").apply(conn);
+        };
+    }
+
+    private void migrateSchema() {
+        List<List<MigrationStep>> migrations = schemaMigrations();
+        try {
+            withConnection(conn -> {
+                try (Statement stmt = conn.createStatement()) {
+                    stmt.execute("CREATE TABLE IF NOT EXISTS schema_version (version INTEGER NOT NULL)");
+                }
+
+                int version = 0;
+                try (Statement stmt = conn.createStatement();
+                     ResultSet rs = stmt.executeQuery("SELECT MAX(version) FROM schema_version")) {
+                    if (rs.next()) {
+                        version = rs.getInt(1);
+                    }
+                }
+
+                if (version > migrations.size()) {
+                    plugin.getLogger().warning("Database schema version " + version
+                            + " is newer than this plugin version (" + migrations.size() + ")");
+                    return null;
+                }
+
+                for (int next = version + 1; next <= migrations.size(); next++) {
+                    applyMigration(conn, next, migrations.get(next - 1));
+                    plugin.getLogger().info("Upgraded database schema to version " + next);
+                }
+                return null;
+            });
         } catch (SQLException e) {
-            plugin.getLogger().severe("Could not create tables: " + e.getMessage());
+            plugin.getLogger().severe("Could not upgrade database schema: " + e.getMessage());
+        }
+    }
+
+    // Steps are idempotent, so a version that failed halfway is simply applied again on the next start
+    private void applyMigration(Connection conn, int version, List<MigrationStep> steps) throws SQLException {
+        for (MigrationStep step : steps) {
+            step.apply(conn);
         }
+        try (PreparedStatement record = conn.prepareStatement("INSERT INTO schema_version (version) VALUES (?)")) {
+            record.setInt(1, version);
+            record.executeUpdate();
+        }
+    }
+
+    /**
+     * Prepares a statement. On SQLite the statement is prepared once and reused for the lifetime
+     * of the connection; on MySQL the driver caches it per pooled connection.
+     * Hand it back with {@link #release(PreparedStatement)}.
+     */
+    private PreparedStatement prepare(Connection conn, String sql) throws SQLException {
+        return prepare(conn, sql, Statement.NO_GENERATED_KEYS);
     }
 
+    private PreparedStatement prepare(Connection conn, String sql, int autoGeneratedKeys) throws SQLException {
+        if (isMySQL()) {
+            return conn.prepareStatement(sql, autoGeneratedKeys);
+        }
+        PreparedStatement stmt = statements.get(sql);
+        if (stmt == null || stmt.isClosed()) {
+            stmt = conn.prepareStatement(sql, autoGeneratedKeys);
+            statements.put(sql, stmt);
+        }
+        return stmt;
+    }
+
+    private void release(PreparedStatement stmt) throws SQLException {
+        if (isMySQL()) {
+            stmt.close();
+        } else {
+            stmt.clearParameters();
+        }
+    }
+
+    /**
+     * Queues the accumulated damage of a player for writing.
+     * The row is written later by the background writer, together with other pending rows.
+     */
     public void updateDamage(String bossName, UUID playerUuid, String playerName, double damage) {
         if (bossName == null || bossName.trim().isEmpty()) {
             plugin.getLogger().warning("Attempted to update damage with null or empty boss name");
             return;
         }
-        String sql = """
+        long started = plugin.getMetrics().start();
+        writeQueue.offer(bossName.toUpperCase(), playerUuid, playerName, damage);
+        plugin.getMetrics().stop(PluginMetrics.Section.DB_UPDATE_DAMAGE, started);
+    }
+
+    /**
+     * Queues the accumulated damage of a player for an already resolved boss.
+     */
+    public void updateDamage(BossKey boss, UUID playerUuid, String playerName, double damage) {
+        long started = plugin.getMetrics().start();
+        writeQueue.offer(boss.getId(), playerUuid, playerName, damage);
+        plugin.getMetrics().stop(PluginMetrics.Section.DB_UPDATE_DAMAGE, started);
+    }
+
+    private void writeDamageBatch(List<DamageWriteQueue.PendingDamage> batch) throws SQLException {
+        // SQLite and MySQL spell upserts differently
+        String sql = isMySQL() ? """
+            INSERT INTO boss_damage (boss_name, player_uuid, player_name, damage, last_updated)
+            VALUES (?, ?, ?, ?, CURRENT_TIMESTAMP)
+            ON DUPLICATE KEY UPDATE player_name = VALUES(player_name), damage = VALUES(damage),
+                last_updated = CURRENT_TIMESTAMP
+        """ : """
             INSERT OR REPLACE INTO boss_damage (boss_name, player_uuid, player_name, damage, last_updated)
             VALUES (?, ?, ?, ?, CURRENT_TIMESTAMP)
         """;
 
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
-            pstmt.setString(1, bossName.toUpperCase());
-            pstmt.setString(2, playerUuid.toString());
-            pstmt.setString(3, playerName);
-            pstmt.setDouble(4, damage);
-            pstmt.executeUpdate();
-        } catch (SQLException e) {
-            plugin.getLogger().severe("Could not update damage: " + e.getMessage());
-        }
+        long started = plugin.getMetrics().start();
+        withConnection(conn -> {
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            PreparedStatement pstmt = prepare(conn, sql);
+            try {
+                for (DamageWriteQueue.PendingDamage update : batch) {
+                    pstmt.setString(1, update.key().bossName());
+                    pstmt.setString(2, update.key().playerUuid().toString());
+                    pstmt.setString(3, update.playerName());
+                    pstmt.setDouble(4, update.damage());
+                    pstmt.addBatch();
+                }
+                pstmt.executeBatch();
+                conn.commit();
+            } catch (SQLException e) {
+                pstmt.clearBatch();
+                conn.rollback();
+                throw e;
+            } finally {
+                release(pstmt);
+                conn.setAutoCommit(autoCommit);
+            }
+            return null;
+        });
+        plugin.getMetrics().stop(PluginMetrics.Section.DB_WRITE_BATCH, started);
     }
 
-    public String getFormattedLeaderboard(String bossName) {
+    /**
+     * Loads the leaderboard of a boss on the database executor.
+     *
+     * @param bossName The boss ID.
+     * @return A future completed with the formatted leaderboard, or exceptionally if the query failed.
+     */
+    public CompletableFuture<String> getFormattedLeaderboardAsync(String bossName) {
+        return supplyAsync(() -> loadFormattedLeaderboard(bossName));
+    }
+
+    private String loadFormattedLeaderboard(String bossName) throws SQLException {
         String sql = """
             SELECT player_name, damage
             FROM boss_damage
@@ -103,35 +480,280 @@ public class DatabaseManager {
             LIMIT 10
         """;
 
-        StringBuilder result = new StringBuilder();
+        long started = plugin.getMetrics().start();
+        try {
+            return withConnection(conn -> {
+                StringBuilder builder = new StringBuilder();
+                PreparedStatement pstmt = prepare(conn, sql);
+                try {
+                    pstmt.setString(1, bossName.toUpperCase());
+                    try (ResultSet rs = pstmt.executeQuery()) {
+                        int position = 1;
+                        while (rs.next()) {
+                            String playerName = rs.getString("player_name");
+                            double damage = rs.getDouble("damage");
 
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
-            pstmt.setString(1, bossName.toUpperCase());
-            ResultSet rs = pstmt.executeQuery();
+                            builder.append(String.format("#%d %s: %.0f\n", position, playerName, damage));
+                            position++;
+                        }
+                    }
+                } finally {
+                    release(pstmt);
+                }
+                return builder.toString().trim();
+            });
+        } finally {
+            plugin.getMetrics().stop(PluginMetrics.Section.DB_LEADERBOARD, started);
+        }
+    }
 
-            int position = 1;
-            while (rs.next()) {
-                String playerName = rs.getString("player_name");
-                double damage = rs.getDouble("damage");
+    /**
+     * Queues a completed fight for the kill history.
+     * Kills are appended by the database executor, together with other kills queued meanwhile.
+     *
+     * @param record The kill, with a kill ID of 0.
+     */
+    public void recordKill(KillRecord record) {
+        if (!killHistoryEnabled) return;
+        pendingKills.add(record);
+        requestKillFlush();
+    }
 
-                result.append(String.format("#%d %s: %.0f\n", position, playerName, damage));
-                position++;
-            }
+    private void requestKillFlush() {
+        if (killFlushRequested.compareAndSet(false, true)) {
+            supplyAsync(() -> {
+                flushKills();
+                return null;
+            }).whenComplete((ignored, error) -> {
+                if (error != null) {
+                    // Executor full or shutting down, the next kill or close() picks the rows up
+                    killFlushRequested.set(false);
+                    plugin.getLogger().warning("Could not queue kill history write: " + error.getMessage());
+                }
+            });
+        }
+    }
+
+    private void flushKills() {
+        killFlushRequested.set(false);
+        List<KillRecord> batch = new ArrayList<>();
+        KillRecord record;
+        while ((record = pendingKills.poll()) != null) {
+            batch.add(record);
+        }
+        if (batch.isEmpty()) return;
+
+        try {
+            writeKillBatch(batch);
         } catch (SQLException e) {
-            plugin.getLogger().severe("Could not get leaderboard: " + e.getMessage());
-            return "Error loading leaderboard";
+            plugin.getLogger().severe("Could not write " + batch.size() + " kills to the history: " + e.getMessage());
+            // Keep them for the next flush
+            pendingKills.addAll(batch);
         }
+    }
 
-        return result.toString().trim();
+    private void writeKillBatch(List<KillRecord> batch) throws SQLException {
+        String killSql = """
+            INSERT INTO boss_kills (boss_name, mob_uuid, started_at, killed_at, max_health, total_damage, participants)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+        """;
+        String participantSql = """
+            INSERT INTO boss_kill_participants (kill_id, player_rank, player_uuid, player_name, damage, rewards_queued)
+            VALUES (?, ?, ?, ?, ?, ?)
+        """;
+
+        long started = plugin.getMetrics().start();
+        try {
+            withConnection(conn -> {
+                boolean autoCommit = conn.getAutoCommit();
+                conn.setAutoCommit(false);
+                PreparedStatement killStmt = prepare(conn, killSql, Statement.RETURN_GENERATED_KEYS);
+                PreparedStatement participantStmt = prepare(conn, participantSql);
+                try {
+                    for (KillRecord kill : batch) {
+                        killStmt.setString(1, kill.bossId());
+                        killStmt.setString(2, kill.mobUuid().toString());
+                        killStmt.setLong(3, kill.startedAt());
+                        killStmt.setLong(4, kill.killedAt());
+                        killStmt.setDouble(5, kill.maxHealth());
+                        killStmt.setDouble(6, kill.totalDamage());
+                        killStmt.setInt(7, kill.participantCount());
+                        killStmt.executeUpdate();
+
+                        long killId;
+                        try (ResultSet keys = killStmt.getGeneratedKeys()) {
+                            if (!keys.next()) throw new SQLException("No kill ID generated");
+                            killId = keys.getLong(1);
+                        }
+
+                        for (KillRecord.Participant participant : kill.participants()) {
+                            participantStmt.setLong(1, killId);
+                            participantStmt.setInt(2, participant.rank());
+                            participantStmt.setString(3, participant.playerId().toString());
+                            participantStmt.setString(4, participant.playerName());
+                            participantStmt.setDouble(5, participant.damage());
+                            participantStmt.setInt(6, participant.rewardsQueued());
+                            participantStmt.addBatch();
+                        }
+                    }
+                    participantStmt.executeBatch();
+                    conn.commit();
+                } catch (SQLException e) {
+                    participantStmt.clearBatch();
+                    conn.rollback();
+                    throw e;
+                } finally {
+                    release(killStmt);
+                    release(participantStmt);
+                    conn.setAutoCommit(autoCommit);
+                }
+                return null;
+            });
+        } finally {
+            plugin.getMetrics().stop(PluginMetrics.Section.DB_KILL_WRITE, started);
+        }
+    }
+
+    /**
+     * Loads the last kills of a boss, with all their participants, on the database executor.
+     *
+     * @param bossName The boss ID.
+     * @param limit The maximum number of kills.
+     * @return A future completed with the kills, from the most recent.
+     */
+    public CompletableFuture<List<KillRecord>> getRecentKills(String bossName, int limit) {
+        String sql = """
+            SELECT k.kill_id, k.boss_name, k.mob_uuid, k.started_at, k.killed_at, k.max_health, k.total_damage,
+                   k.participants, p.player_rank, p.player_uuid, p.player_name, p.damage, p.rewards_queued
+            FROM (
+                SELECT * FROM boss_kills
+                WHERE boss_name = ?
+                ORDER BY killed_at DESC
+                LIMIT ?
+            ) k
+            LEFT JOIN boss_kill_participants p ON p.kill_id = k.kill_id
+            ORDER BY k.killed_at DESC, k.kill_id DESC, p.player_rank
+        """;
+
+        return submit(conn -> {
+            long started = plugin.getMetrics().start();
+            PreparedStatement pstmt = prepare(conn, sql);
+            try {
+                pstmt.setString(1, bossName.toUpperCase());
+                pstmt.setInt(2, limit);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    return readKills(rs);
+                }
+            } finally {
+                release(pstmt);
+                plugin.getMetrics().stop(PluginMetrics.Section.DB_KILL_QUERY, started);
+            }
+        });
+    }
+
+    /**
+     * Loads the last kills a player took part in, on the database executor.
+     * Each kill only lists that player as participant.
+     *
+     * @param playerUuid The UUID of the player.
+     * @param limit The maximum number of kills.
+     * @return A future completed with the kills, from the most recent.
+     */
+    public CompletableFuture<List<KillRecord>> getPlayerKills(UUID playerUuid, int limit) {
+        String sql = """
+            SELECT k.kill_id, k.boss_name, k.mob_uuid, k.started_at, k.killed_at, k.max_health, k.total_damage,
+                   k.participants, p.player_rank, p.player_uuid, p.player_name, p.damage, p.rewards_queued
+            FROM boss_kill_participants p
+            JOIN boss_kills k ON k.kill_id = p.kill_id
+            WHERE p.player_uuid = ?
+            ORDER BY p.kill_id DESC
+            LIMIT ?
+        """;
+
+        return submit(conn -> {
+            long started = plugin.getMetrics().start();
+            PreparedStatement pstmt = prepare(conn, sql);
+            try {
+                pstmt.setString(1, playerUuid.toString());
+                pstmt.setInt(2, limit);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    return readKills(rs);
+                }
+            } finally {
+                release(pstmt);
+                plugin.getMetrics().stop(PluginMetrics.Section.DB_KILL_QUERY, started);
+            }
+        });
+    }
+
+    // Groups consecutive rows of the same kill into one record
+    private List<KillRecord> readKills(ResultSet rs) throws SQLException {
+        List<KillRecord> kills = new ArrayList<>();
+        long currentId = 0;
+        List<KillRecord.Participant> participants = null;
+        while (rs.next()) {
+            long killId = rs.getLong("kill_id");
+            if (killId != currentId) {
+                currentId = killId;
+                participants = new ArrayList<>();
+                kills.add(new KillRecord(killId, rs.getString("boss_name"), UUID.fromString(rs.getString("mob_uuid")),
+                        rs.getLong("started_at"), rs.getLong("killed_at"), rs.getDouble("max_health"),
+                        rs.getDouble("total_damage"), rs.getInt("participants"), participants));
+            }
+            String playerUuid = rs.getString("player_uuid");
+            if (playerUuid != null) {
+                participants.add(new KillRecord.Participant(rs.getInt("player_rank"), UUID.fromString(playerUuid),
+                        rs.getString("player_name"), rs.getDouble("damage"), rs.getInt("rewards_queued")));
+            }
+        }
+        return kills;
+    }
+
+    public DamageWriteQueue getWriteQueue() {
+        return writeQueue;
     }
 
     public void close() {
-        try {
-            if (connection != null && !connection.isClosed()) {
-                connection.close();
+        // Drain pending writes before the connection goes away
+        if (writeQueue != null) {
+            writeQueue.shutdown();
+        }
+
+        // Let submitted work finish, it may still need a connection
+        if (executor != null) {
+            executor.shutdown();
+            try {
+                if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+                    plugin.getLogger().warning("Database executor did not stop in time, forcing shutdown");
+                    executor.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                executor.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        // Write kills the executor did not get to
+        if (!pendingKills.isEmpty()) {
+            flushKills();
+        }
+
+        if (dataSource != null) {
+            dataSource.close();
+        }
+
+        synchronized (this) {
+            try {
+                for (PreparedStatement stmt : statements.values()) {
+                    stmt.close();
+                }
+                statements.clear();
+                if (connection != null && !connection.isClosed()) {
+                    connection.close();
+                }
+            } catch (SQLException e) {
+                plugin.getLogger().severe("Could not close database connection: " + e.getMessage());
             }
-        } catch (SQLException e) {
-            plugin.getLogger().severe("Could not close database connection: " + e.getMessage());
         }
     }
 }
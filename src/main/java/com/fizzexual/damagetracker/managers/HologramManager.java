@@ -1,7 +1,10 @@
 package com.fizzexual.damagetracker.managers;
 
 import com.fizzexual.damagetracker.DamageTracker;
+import com.fizzexual.damagetracker.api.KillSnapshot;
 import com.fizzexual.damagetracker.configs.BossConfig;
+import com.fizzexual.damagetracker.utils.ColorTranslator;
+import com.fizzexual.damagetracker.utils.MessageTemplate;
 import com.fizzexual.damagetracker.utils.MessageUtils;
 import de.oliver.fancyholograms.api.FancyHologramsPlugin;
 import de.oliver.fancyholograms.api.data.TextHologramData;
@@ -121,9 +124,8 @@ public class HologramManager {
     /**
      * Creates a victory hologram for a boss
      */
-    public void createVictoryHologram(String bossName, String hologramType, String victoryMessageId, 
-                                     List<UUID> participants, Location bossLocation, 
-                                     Map<UUID, Double> bossDamageMap, double maxHealth, String displayName) {
+    public void createVictoryHologram(String bossName, String hologramType, String victoryMessageId,
+                                     Location bossLocation, KillSnapshot snapshot) {
         // Check if hologram type is FANCY
         if (!"FANCY".equalsIgnoreCase(hologramType)) {
             return;
@@ -137,20 +139,20 @@ public class HologramManager {
         
         try {
             // Calculate average location of participants
-            Location hologramLocation = calculateParticipantsLocation(participants, bossLocation);
+            Location hologramLocation = calculateParticipantsLocation(snapshot.getParticipants(), bossLocation);
             if (hologramLocation == null) {
                 plugin.getLogger().warning("Could not calculate location for boss hologram: " + bossName);
                 return;
             }
             
             // Get victory message
-            String victoryMessage = plugin.getVictoryMessageManager().getVictoryMessage(victoryMessageId);
+            MessageTemplate victoryMessage = plugin.getVictoryMessageManager().getVictoryTemplate(victoryMessageId);
             if (victoryMessage == null) {
-                victoryMessage = "Boss defeated!";
+                victoryMessage = MessageTemplate.compile("Boss defeated!");
             }
             
             // Process placeholders
-            String processedMessage = processVictoryMessagePlaceholders(victoryMessage, displayName, bossDamageMap, maxHealth);
+            String processedMessage = processVictoryMessagePlaceholders(victoryMessage, snapshot);
             
             // Create unique name for hologram
             String hologramName = "victory_" + bossName.toLowerCase() + "_" + System.currentTimeMillis();
@@ -204,38 +206,34 @@ public class HologramManager {
     /**
      * Processes placeholders in victory message
      */
-    private String processVictoryMessagePlaceholders(String victoryMessage, String bossDisplayName, 
-                                                    Map<UUID, Double> bossDamageMap, double maxHealth) {
-        // Replace {boss_name}
-        String processedMessage = victoryMessage.replace("{boss_name}", bossDisplayName);
+    private String processVictoryMessagePlaceholders(MessageTemplate victoryMessage, KillSnapshot snapshot) {
+        String[] values = MessageTemplate.Placeholder.newValues();
+        values[MessageTemplate.Placeholder.BOSS_NAME.ordinal()] = snapshot.getDisplayName();
         
         // Process {top_players} if exists
-        if (processedMessage.contains("{top_players}")) {
-            String topPlayersMessage = generateTopPlayersMessage(bossDamageMap, maxHealth);
-            processedMessage = processedMessage.replace("{top_players}", topPlayersMessage);
+        if (victoryMessage.contains(MessageTemplate.Placeholder.TOP_PLAYERS)) {
+            values[MessageTemplate.Placeholder.TOP_PLAYERS.ordinal()] = generateTopPlayersMessage(snapshot);
         }
         
         // Replace {personal_damage} with general statistics
-        if (processedMessage.contains("{personal_damage}")) {
-            String generalStats = generateGeneralDamageStats(bossDamageMap, maxHealth);
-            processedMessage = processedMessage.replace("{personal_damage}", generalStats);
+        if (victoryMessage.contains(MessageTemplate.Placeholder.PERSONAL_DAMAGE)) {
+            values[MessageTemplate.Placeholder.PERSONAL_DAMAGE.ordinal()] = generateGeneralDamageStats(snapshot);
         }
         
-        return processedMessage;
+        return victoryMessage.render(values);
     }
     
     /**
      * Generates general damage statistics to replace {personal_damage}
      */
-    private String generateGeneralDamageStats(Map<UUID, Double> bossDamageMap, double maxHealth) {
-        if (bossDamageMap == null || bossDamageMap.isEmpty()) {
+    private String generateGeneralDamageStats(KillSnapshot snapshot) {
+        if (snapshot.isEmpty()) {
             return "";
         }
         
-        double totalDamage = bossDamageMap.values().stream().mapToDouble(Double::doubleValue).sum();
-        int participantCount = bossDamageMap.size();
+        int participantCount = snapshot.getParticipantCount();
         
-        String totalDamageStr = plugin.formatDamage(totalDamage, maxHealth, "numeric");
+        String totalDamageStr = plugin.formatDamage(snapshot.getTotalDamage(), snapshot.getMaxHealth(), "numeric");
         
         return String.format("<gray>Total: %s | %d participants", totalDamageStr, participantCount);
     }
@@ -243,8 +241,8 @@ public class HologramManager {
     /**
      * Generates top players message
      */
-    private String generateTopPlayersMessage(Map<UUID, Double> bossDamageMap, double maxHealth) {
-        if (bossDamageMap == null || bossDamageMap.isEmpty()) {
+    private String generateTopPlayersMessage(KillSnapshot snapshot) {
+        if (snapshot.isEmpty()) {
             return "No participants";
         }
         
@@ -253,37 +251,28 @@ public class HologramManager {
         // Get boss configuration (use default configuration if not found)
         BossConfig defaultConfig = plugin.getDefaultBossConfig();
         int topPlayersToShow = defaultConfig.getTopPlayersToShow();
-        List<String> positionFormats = messageManager.getPositionFormat(defaultConfig.getPositionFormatId());
+        String[] values = MessageTemplate.Placeholder.newValues();
         
-        // Get top players
-        List<Map.Entry<UUID, Double>> topPlayers = plugin.getTopDamage(bossDamageMap, topPlayersToShow);
-        double totalDamage = bossDamageMap.values().stream().mapToDouble(Double::doubleValue).sum();
+        // Participants are already ranked
+        int shown = Math.min(topPlayersToShow, snapshot.getParticipantCount());
         
         // Create top players message
         StringBuilder topPlayersMessage = new StringBuilder();
-        for (int i = 0; i < Math.min(topPlayersToShow, topPlayers.size()); i++) {
-            Map.Entry<UUID, Double> entry = topPlayers.get(i);
-            Player player = Bukkit.getPlayer(entry.getKey());
+        for (int i = 0; i < shown; i++) {
+            int rank = i + 1;
+            Player player = Bukkit.getPlayer(snapshot.getPlayerAtRank(rank));
             if (player != null) {
-                String format = i < positionFormats.size() ?
-                        positionFormats.get(i) :
-                        "<gray>{player_name}: {damage} ({percentage}%)";
+                String prefix = ColorTranslator.sectionToMiniMessage(plugin.getPlayerPrefix(player));
                 
-                String damageStr = plugin.formatDamage(entry.getValue(), maxHealth, "numeric");
-                double percentage = (entry.getValue() / totalDamage) * 100;
-                String percentageStr = String.format(plugin.percentageFormat, percentage);
+                values[MessageTemplate.Placeholder.POSITION.ordinal()] = String.valueOf(rank);
+                values[MessageTemplate.Placeholder.PLAYER_NAME.ordinal()] = player.getName();
+                values[MessageTemplate.Placeholder.DAMAGE.ordinal()] = plugin.formatDamage(snapshot.getDamageAtRank(rank), snapshot.getMaxHealth(), "numeric");
+                values[MessageTemplate.Placeholder.PERCENTAGE.ordinal()] = String.format(plugin.percentageFormat, snapshot.getPercentageAtRank(rank));
+                values[MessageTemplate.Placeholder.PREFIX.ordinal()] = prefix;
                 
-                String prefix = plugin.getPlayerPrefix(player);
-                prefix = prefix.replaceAll("§([0-9a-fk-or])", "<$1>");
-                
-                format = format.replace("{position}", String.valueOf(i + 1))
-                        .replace("{player_name}", player.getName())
-                        .replace("{damage}", damageStr)
-                        .replace("{percentage}", percentageStr)
-                        .replace("{prefix}", prefix);
-                
-                topPlayersMessage.append(format);
-                if (i < Math.min(topPlayersToShow, topPlayers.size()) - 1) {
+                messageManager.getPositionTemplate(defaultConfig.getPositionFormatId(), rank)
+                        .renderTo(topPlayersMessage, values);
+                if (i < shown - 1) {
                     topPlayersMessage.append("\n");
                 }
             }
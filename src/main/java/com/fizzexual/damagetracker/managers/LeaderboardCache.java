@@ -0,0 +1,97 @@
+package com.fizzexual.damagetracker.managers;
+
+import com.fizzexual.damagetracker.DamageTracker;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Formatted database leaderboards per boss, for the {@code %dt_damagetop_<boss>%} placeholder.
+ * <p>
+ * Reads return the last loaded string without touching the database. A read of an entry older
+ * than the cache duration starts one refresh on the database executor and keeps serving the old
+ * value until it completes. Kills refresh the boss once its final totals are written.
+ * Safe to use from any thread.
+ */
+public class LeaderboardCache {
+    private record Entry(String value, long loadedAt) {
+    }
+
+    private final DamageTracker plugin;
+    // Keyed by the boss name as written in the placeholder, so reads do not normalize it
+    private final Map<String, Entry> entries;
+    private final Set<String> refreshing;
+    private volatile long ttlNanos;
+
+    /**
+     * Constructor for LeaderboardCache.
+     *
+     * @param plugin The main plugin instance.
+     */
+    public LeaderboardCache(DamageTracker plugin) {
+        this.plugin = plugin;
+        this.entries = new ConcurrentHashMap<>();
+        this.refreshing = ConcurrentHashMap.newKeySet();
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(5);
+    }
+
+    /**
+     * Applies the cache duration and drops every cached leaderboard.
+     *
+     * @param cacheDurationSeconds How long a loaded leaderboard is served before it is refreshed.
+     */
+    public void configure(int cacheDurationSeconds) {
+        ttlNanos = TimeUnit.SECONDS.toNanos(Math.max(1, cacheDurationSeconds));
+        entries.clear();
+    }
+
+    /**
+     * Gets the formatted leaderboard of a boss.
+     *
+     * @param bossName The boss name, in any case.
+     * @return The leaderboard, or an empty string until it is first loaded.
+     */
+    public String get(String bossName) {
+        Entry entry = entries.get(bossName);
+        if (entry == null || System.nanoTime() - entry.loadedAt() > ttlNanos) {
+            refresh(bossName);
+        }
+        return entry != null ? entry.value() : "";
+    }
+
+    /**
+     * Refreshes the cached leaderboards of a boss after its pending damage rows are written.
+     *
+     * @param bossId The boss ID.
+     */
+    public void invalidate(String bossId) {
+        for (String bossName : entries.keySet()) {
+            if (bossName.equalsIgnoreCase(bossId)) {
+                plugin.getDatabaseManager().getWriteQueue().runAfterFlush(() -> refresh(bossName));
+            }
+        }
+    }
+
+    private void refresh(String bossName) {
+        // One refresh per boss at a time, concurrent readers keep the old value
+        if (!refreshing.add(bossName)) return;
+
+        plugin.getDatabaseManager().getFormattedLeaderboardAsync(bossName).whenComplete((value, error) -> {
+            if (error == null) {
+                entries.put(bossName, new Entry(value, System.nanoTime()));
+            } else {
+                // Keep serving the old value and retry after another cache duration
+                Entry previous = entries.get(bossName);
+                entries.put(bossName, new Entry(previous != null ? previous.value() : "", System.nanoTime()));
+                plugin.getLogger().warning("Could not refresh leaderboard of " + bossName + ": " + error.getMessage());
+            }
+            refreshing.remove(bossName);
+        });
+    }
+
+    public int size() {
+        return entries.size();
+    }
+}
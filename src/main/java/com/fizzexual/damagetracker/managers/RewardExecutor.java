@@ -0,0 +1,233 @@
+package com.fizzexual.damagetracker.managers;
+
+import com.fizzexual.damagetracker.DamageTracker;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayDeque;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+
+/**
+ * Executes reward actions on the server thread under a per-tick budget.
+ * <p>
+ * All actions of a kill are queued at once and drained in FIFO order, so the
+ * rewards of a player are always executed in the order they were queued.
+ * Each tick executes at most {@code maxActionsPerTick} actions and stops early
+ * once {@code maxNanosPerTick} is spent, spreading large kills over several ticks.
+ */
+public class RewardExecutor {
+
+    /**
+     * A single queued reward action for one player.
+     */
+    private static final class RewardAction {
+        private final Supplier<Player> recipient;
+        private final String description;
+        private final Consumer<Player> action;
+        private final long queuedAt;
+
+        private RewardAction(Supplier<Player> recipient, String description, Consumer<Player> action) {
+            this.recipient = recipient;
+            this.description = description;
+            this.action = action;
+            this.queuedAt = System.nanoTime();
+        }
+    }
+
+    private final DamageTracker plugin;
+    private final ArrayDeque<RewardAction> queue;
+    private int maxActionsPerTick;
+    private long maxNanosPerTick;
+    private boolean logSkipped;
+    private BukkitTask task;
+
+    // Metrics, only touched on the server thread
+    private int peakQueueDepth;
+    private long executedActions;
+    private long skippedActions;
+    private long failedActions;
+    private long totalLatencyNanos;
+    private long maxLatencyNanos;
+    private long lastDrainNanos;
+    private long maxDrainNanos;
+
+    /**
+     * Constructor for RewardExecutor.
+     *
+     * @param plugin The main plugin instance.
+     * @param maxActionsPerTick Maximum number of actions executed per tick.
+     * @param maxMillisPerTick Maximum time spent executing actions per tick.
+     */
+    public RewardExecutor(DamageTracker plugin, int maxActionsPerTick, double maxMillisPerTick) {
+        this.plugin = plugin;
+        this.queue = new ArrayDeque<>();
+        setBudget(maxActionsPerTick, maxMillisPerTick);
+    }
+
+    /**
+     * Updates the per-tick budget.
+     *
+     * @param maxActionsPerTick Maximum number of actions executed per tick.
+     * @param maxMillisPerTick Maximum time spent executing actions per tick.
+     */
+    public void setBudget(int maxActionsPerTick, double maxMillisPerTick) {
+        this.maxActionsPerTick = Math.max(1, maxActionsPerTick);
+        this.maxNanosPerTick = Math.max(1L, (long) (maxMillisPerTick * 1_000_000L));
+    }
+
+    /**
+     * Sets whether actions skipped for offline players are logged.
+     *
+     * @param logSkipped Whether to log skipped actions.
+     */
+    public void setLogSkipped(boolean logSkipped) {
+        this.logSkipped = logSkipped;
+    }
+
+    /**
+     * Starts draining the queue once per tick.
+     */
+    public void start() {
+        if (task == null) {
+            task = Bukkit.getScheduler().runTaskTimer(plugin, this::drain, 1L, 1L);
+        }
+    }
+
+    /**
+     * Queues an action for a player. The action is skipped if the player is offline when it runs.
+     *
+     * @param playerId The UUID of the player receiving the reward.
+     * @param description Short description used in log messages.
+     * @param action The action to execute with the online player.
+     */
+    public void submit(UUID playerId, String description, Consumer<Player> action) {
+        submit(() -> Bukkit.getPlayer(playerId), description, action);
+    }
+
+    /**
+     * Queues an action whose player is picked when it runs.
+     * The action is skipped if no online player is found at that point.
+     *
+     * @param recipient Picks the player receiving the reward, may return null.
+     * @param description Short description used in log messages.
+     * @param action The action to execute with the online player.
+     */
+    public void submit(Supplier<Player> recipient, String description, Consumer<Player> action) {
+        queue.addLast(new RewardAction(recipient, description, action));
+        if (queue.size() > peakQueueDepth) {
+            peakQueueDepth = queue.size();
+        }
+    }
+
+    /**
+     * Executes queued actions until the per-tick budget is spent.
+     */
+    public void drain() {
+        if (queue.isEmpty()) {
+            lastDrainNanos = 0L;
+            return;
+        }
+
+        long start = System.nanoTime();
+        long deadline = start + maxNanosPerTick;
+        int executed = 0;
+
+        // Always run at least one action so the queue makes progress
+        while (!queue.isEmpty() && executed < maxActionsPerTick) {
+            execute(queue.pollFirst());
+            executed++;
+            if (System.nanoTime() - deadline >= 0) {
+                break;
+            }
+        }
+
+        lastDrainNanos = System.nanoTime() - start;
+        if (lastDrainNanos > maxDrainNanos) {
+            maxDrainNanos = lastDrainNanos;
+        }
+    }
+
+    private void execute(RewardAction action) {
+        long latency = System.nanoTime() - action.queuedAt;
+        totalLatencyNanos += latency;
+        if (latency > maxLatencyNanos) {
+            maxLatencyNanos = latency;
+        }
+
+        Player player = action.recipient.get();
+        if (player == null || !player.isOnline()) {
+            skippedActions++;
+            if (logSkipped) {
+                plugin.getLogger().info("Skipping reward for offline player: " + action.description);
+            }
+            return;
+        }
+
+        try {
+            action.action.accept(player);
+            executedActions++;
+        } catch (Exception e) {
+            failedActions++;
+            plugin.getLogger().log(Level.SEVERE, "Error executing reward for " + player.getName() + ": " + action.description, e);
+        }
+    }
+
+    /**
+     * Stops the drain task and executes every remaining action, ignoring the budget.
+     */
+    public void shutdown() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+        while (!queue.isEmpty()) {
+            execute(queue.pollFirst());
+        }
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    public int getPeakQueueDepth() {
+        return peakQueueDepth;
+    }
+
+    public long getExecutedActions() {
+        return executedActions;
+    }
+
+    public long getSkippedActions() {
+        return skippedActions;
+    }
+
+    public long getFailedActions() {
+        return failedActions;
+    }
+
+    /**
+     * Gets the average time actions waited in the queue before running.
+     *
+     * @return Average latency in milliseconds.
+     */
+    public double getAverageLatencyMillis() {
+        long processed = executedActions + skippedActions + failedActions;
+        return processed == 0 ? 0.0 : totalLatencyNanos / (double) processed / 1_000_000.0;
+    }
+
+    public double getMaxLatencyMillis() {
+        return maxLatencyNanos / 1_000_000.0;
+    }
+
+    public double getLastDrainMillis() {
+        return lastDrainNanos / 1_000_000.0;
+    }
+
+    public double getMaxDrainMillis() {
+        return maxDrainNanos / 1_000_000.0;
+    }
+}
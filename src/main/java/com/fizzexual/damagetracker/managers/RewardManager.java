@@ -1,6 +1,8 @@
 package com.fizzexual.damagetracker.managers;
 
 import com.fizzexual.damagetracker.DamageTracker;
+import com.fizzexual.damagetracker.api.KillSnapshot;
+import com.fizzexual.damagetracker.configs.BossKey;
 import com.fizzexual.damagetracker.configs.RewardConfig;
 import org.bukkit.Bukkit;
 import org.bukkit.Material;
@@ -23,13 +25,17 @@ import java.util.logging.Level;
 public class RewardManager {
     private final DamageTracker plugin;
     private final Map<String, RewardConfig> bossRewards;
+    private final RewardExecutor rewardExecutor;
     private File rewardsFile;
     private FileConfiguration rewardsConfig;
+    private boolean logRewards;
 
     public RewardManager(DamageTracker plugin) {
         this.plugin = plugin;
         this.bossRewards = new HashMap<>();
+        this.rewardExecutor = new RewardExecutor(plugin, 20, 2.0);
         loadRewardsFile();
+        rewardExecutor.start();
     }
 
     private void loadRewardsFile() {
@@ -45,6 +51,16 @@ public class RewardManager {
      */
     public void loadRewards() {
         bossRewards.clear();
+
+        // Reward distribution runs on every kill, so its logging is only on while debugging
+        logRewards = plugin.getConfig().getBoolean("debug.enabled", false)
+                && plugin.getConfig().getBoolean("debug.log_rewards", true);
+        rewardExecutor.setLogSkipped(logRewards);
+
+        // Per-tick budget for executing queued rewards
+        rewardExecutor.setBudget(
+                plugin.getConfig().getInt("rewards.execution.max_actions_per_tick", 20),
+                plugin.getConfig().getDouble("rewards.execution.max_millis_per_tick", 2.0));
         
         if (rewardsConfig == null) {
             loadRewardsFile();
@@ -74,7 +90,10 @@ public class RewardManager {
                     
                     RewardConfig.Reward reward = new RewardConfig.Reward();
                     reward.setType((String) rewardMap.getOrDefault("type", "item"));
-                    reward.setRequiredPlace(((Number) rewardMap.getOrDefault("position", 1)).intValue());
+                    if (!parsePosition(reward, rewardMap.getOrDefault("position", 1))) {
+                        plugin.getLogger().warning("Invalid position '" + rewardMap.get("position") + "' for boss " + bossName + ", skipping reward");
+                        continue;
+                    }
                     
                     // Read boolean values - use helper method for consistent parsing
                     boolean inventory = parseBooleanValue(rewardMap, "inventory", true);
@@ -89,7 +108,7 @@ public class RewardManager {
                     reward.setGlow(glow);
                     
                     plugin.getLogger().info("  Loaded reward: type=" + reward.getType() + 
-                        ", position=" + reward.getRequiredPlace() + 
+                        ", position=" + formatPosition(reward) + 
                         ", inventory=" + inventory + 
                         ", per_player=" + perPlayer + 
                         ", visibility=" + reward.getVisibility() +
@@ -126,6 +145,8 @@ public class RewardManager {
                 }
             }
 
+            // Resolve reward kinds and build the position table once per load
+            config.compile();
             bossRewards.put(bossName.toUpperCase(), config);
             plugin.getLogger().info("Loaded " + config.getRewards().size() + " rewards for boss: " + bossName + " (stored as: " + bossName.toUpperCase() + ")");
         }
@@ -136,99 +157,124 @@ public class RewardManager {
 
     /**
      * Distributes rewards to players based on their leaderboard position.
+     * Reward actions are queued on the reward executor and run over the following ticks.
      */
-    public void distributeRewards(String bossName, Map<UUID, Double> damageMap, double maxHealth) {
-        plugin.getLogger().info("distributeRewards called for boss: " + bossName);
-        plugin.getLogger().info("Looking up rewards with key: " + bossName.toUpperCase());
-        plugin.getLogger().info("Available boss rewards: " + bossRewards.keySet());
-        
-        RewardConfig config = bossRewards.get(bossName.toUpperCase());
-        
+    public void distributeRewards(String bossName, KillSnapshot snapshot) {
+        distributeRewards(bossName.toUpperCase(), bossRewards.get(bossName.toUpperCase()), snapshot);
+    }
+
+    /**
+     * Distributes rewards using the reward configuration already resolved in the boss key.
+     *
+     * @return The number of reward actions queued for each rank, indexed by rank - 1.
+     */
+    public int[] distributeRewards(BossKey boss, KillSnapshot snapshot) {
+        return distributeRewards(boss.getId(), boss.getRewardConfig(), snapshot);
+    }
+
+    private int[] distributeRewards(String bossName, RewardConfig config, KillSnapshot snapshot) {
+        int[] rewardsByRank = new int[snapshot.getParticipantCount()];
         if (config == null) {
-            plugin.getLogger().warning("No reward config found for boss: " + bossName.toUpperCase());
+            plugin.getLogger().warning("No reward config found for boss: " + bossName);
             plugin.getLogger().warning("Make sure the boss name in rewards.yml matches your MythicMobs mob name exactly!");
-            return;
+            return rewardsByRank;
         }
         
         if (!config.isEnabled()) {
-            plugin.getLogger().info("Rewards are disabled for boss: " + bossName.toUpperCase());
-            return;
+            if (logRewards) {
+                plugin.getLogger().info("Rewards are disabled for boss: " + bossName);
+            }
+            return rewardsByRank;
         }
         
-        plugin.getLogger().info("Reward config found and enabled for boss: " + bossName.toUpperCase() + " with " + config.getRewards().size() + " total rewards");
+        if (logRewards) {
+            plugin.getLogger().info("Reward config found and enabled for boss: " + bossName + " with " + config.getRewards().size() + " total rewards");
+        }
 
-        List<Map.Entry<UUID, Double>> sortedPlayers = new ArrayList<>(damageMap.entrySet());
-        sortedPlayers.sort((e1, e2) -> e2.getValue().compareTo(e1.getValue()));
 
-        // Track which shared drops we've already created (position -> reward)
-        Map<Integer, Set<RewardConfig.Reward>> sharedDropsCreated = new HashMap<>();
+        // Shared drops are created once per kill, for the highest ranked player they apply to who is online when the drop runs
+        Set<RewardConfig.Reward> sharedDropsCreated = null;
 
-        for (int i = 0; i < sortedPlayers.size(); i++) {
-            Map.Entry<UUID, Double> entry = sortedPlayers.get(i);
-            Player player = Bukkit.getPlayer(entry.getKey());
+        for (int i = 0; i < snapshot.getParticipantCount(); i++) {
+            UUID playerId = snapshot.getPlayerAtRank(i + 1);
+            Player player = Bukkit.getPlayer(playerId);
             
             if (player == null || !player.isOnline()) continue;
 
             int position = i + 1;
             List<RewardConfig.Reward> positionRewards = config.getRewardsForPosition(position);
 
-            plugin.getLogger().info("Distributing " + positionRewards.size() + " rewards to " + player.getName() + " for position " + position + " on boss " + bossName);
-            
-            // Log each reward found for this position
-            for (int j = 0; j < positionRewards.size(); j++) {
-                RewardConfig.Reward r = positionRewards.get(j);
-                plugin.getLogger().info("  Reward #" + (j+1) + ": type=" + r.getType() + 
-                    ", command=" + (r.getCommand() != null ? r.getCommand() : "null"));
+            if (logRewards) {
+                plugin.getLogger().info("Distributing " + positionRewards.size() + " rewards to " + player.getName() + " for position " + position + " on boss " + bossName);
             }
 
-            for (RewardConfig.Reward reward : positionRewards) {
-                plugin.getLogger().info("Processing reward - Type: " + reward.getType() + 
-                    ", inventory: " + reward.isGiveToInventory() + 
-                    ", per_player: " + reward.isPerPlayerDrop() + 
-                    ", Item: " + (reward.getItem() != null ? reward.getItem().getType() : "null"));
-                
-                // Handle shared drops (only create once per position)
-                if ("item".equalsIgnoreCase(reward.getType()) && 
-                    !reward.isGiveToInventory() && 
-                    !reward.isPerPlayerDrop()) {
-                    
-                    plugin.getLogger().info("This is a SHARED DROP reward");
-                    
-                    // Check if we already created this shared drop for this position
-                    Set<RewardConfig.Reward> dropsForPosition = sharedDropsCreated.computeIfAbsent(position, k -> new HashSet<>());
-                    
-                    if (!dropsForPosition.contains(reward)) {
-                        if (reward.getItem() != null) {
-                            // Create the shared drop
-                            org.bukkit.entity.Item droppedItem = player.getWorld().dropItem(player.getLocation(), reward.getItem());
-                            
-                            if ("player_only".equalsIgnoreCase(reward.getVisibility())) {
-                                // For shared drops with player_only visibility, set owner to first player at this position
-                                droppedItem.setOwner(player.getUniqueId());
-                                droppedItem.setPickupDelay(0);
-                            }
-                            
-                            dropsForPosition.add(reward);
-                            plugin.getLogger().info("Created shared drop for position " + position + " at " + player.getLocation() + " (visibility: " + reward.getVisibility() + ")");
-                        } else {
-                            plugin.getLogger().warning("Cannot create shared drop - item is null!");
+            for (int j = 0; j < positionRewards.size(); j++) {
+                RewardConfig.Reward reward = positionRewards.get(j);
+                if (logRewards) {
+                    plugin.getLogger().info("  Reward #" + (j + 1) + ": kind=" + reward.getKind() +
+                        ", command=" + (reward.getCommand() != null ? reward.getCommand() : "null"));
+                }
+
+                switch (reward.getKind()) {
+                    case SHARED_DROP:
+                        if (sharedDropsCreated == null) {
+                            sharedDropsCreated = Collections.newSetFromMap(new IdentityHashMap<>());
                         }
-                    } else {
-                        plugin.getLogger().info("Shared drop already created for position " + position);
-                    }
-                } else if ("item".equalsIgnoreCase(reward.getType()) && 
-                           !reward.isGiveToInventory() && 
-                           reward.isPerPlayerDrop()) {
-                    plugin.getLogger().info("This is a PER-PLAYER DROP reward");
-                    // Handle per-player drops
-                    giveReward(player, reward, bossName, position);
-                } else {
-                    plugin.getLogger().info("This is an INVENTORY or COMMAND reward");
-                    // Handle inventory rewards and commands
-                    giveReward(player, reward, bossName, position);
+                        if (sharedDropsCreated.add(reward)) {
+                            rewardsByRank[i]++;
+                            rewardExecutor.submit(() -> findSharedDropRecipient(snapshot, reward, position),
+                                    "shared drop for position " + position + " on boss " + bossName,
+                                    target -> dropSharedReward(target, reward, position));
+                        } else if (logRewards) {
+                            plugin.getLogger().info("Shared drop already created for position " + formatPosition(reward));
+                        }
+                        break;
+                    case PER_PLAYER_DROP:
+                    case INVENTORY:
+                    case COMMAND:
+                        rewardsByRank[i]++;
+                        rewardExecutor.submit(playerId, reward.getKind() + " reward for position " + position + " on boss " + bossName,
+                                target -> giveReward(target, reward, bossName, position));
+                        break;
+                    default:
+                        plugin.getLogger().warning("Skipping " + reward.getType() + " reward without an item or command for position " + position + " on boss " + bossName);
+                        break;
                 }
             }
         }
+        return rewardsByRank;
+    }
+
+    /**
+     * Picks the highest ranked online player a shared drop applies to, starting at the given position.
+     * Runs when the drop is executed, so players who logged out since the kill are passed over.
+     */
+    private Player findSharedDropRecipient(KillSnapshot snapshot, RewardConfig.Reward reward, int fromPosition) {
+        int last = Math.min(reward.getMaxPlace(), snapshot.getParticipantCount());
+        for (int position = fromPosition; position <= last; position++) {
+            Player player = Bukkit.getPlayer(snapshot.getPlayerAtRank(position));
+            if (player != null && player.isOnline()) {
+                return player;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Creates a shared drop at the location of the player.
+     */
+    private void dropSharedReward(Player player, RewardConfig.Reward reward, int position) {
+        org.bukkit.entity.Item droppedItem = player.getWorld().dropItem(player.getLocation(), reward.getItem());
+
+        if (reward.isPlayerOnly()) {
+            // For shared drops with player_only visibility, set owner to the highest ranked player it applies to
+            droppedItem.setOwner(player.getUniqueId());
+            droppedItem.setPickupDelay(0);
+        }
+
+        if (logRewards) {
+            plugin.getLogger().info("Created shared drop for position " + position + " at " + player.getLocation() + " (visibility: " + reward.getVisibility() + ")");
+        }
     }
 
     /**
@@ -236,13 +282,8 @@ public class RewardManager {
      */
     private void giveReward(Player player, RewardConfig.Reward reward, String bossName, int position) {
         try {
-            plugin.getLogger().info("giveReward called for " + player.getName() + " - Type: " + reward.getType() + 
-                ", inventory: " + reward.isGiveToInventory() + 
-                ", per_player: " + reward.isPerPlayerDrop());
-            
-            if ("item".equalsIgnoreCase(reward.getType()) && reward.getItem() != null) {
-                if (reward.isGiveToInventory()) {
-                    // Give to inventory
+            switch (reward.getKind()) {
+                case INVENTORY: {
                     HashMap<Integer, ItemStack> leftover = player.getInventory().addItem(reward.getItem());
                     if (!leftover.isEmpty()) {
                         // If inventory is full, drop at player location
@@ -250,45 +291,48 @@ public class RewardManager {
                             player.getWorld().dropItem(player.getLocation(), drop);
                         }
                     }
-                    plugin.getLogger().info("Gave item reward to inventory for " + player.getName() + " at position " + position);
-                } else {
-                    plugin.getLogger().info("Item should be dropped on ground (inventory=false)");
-                    // Drop on ground
-                    if (reward.isPerPlayerDrop()) {
-                        // Each player gets their own drop
-                        org.bukkit.entity.Item droppedItem = player.getWorld().dropItem(player.getLocation(), reward.getItem());
-                        
-                        if ("player_only".equalsIgnoreCase(reward.getVisibility())) {
-                            // Make it visible only to this player
-                            droppedItem.setOwner(player.getUniqueId());
-                            // Set pickup delay so only owner can pick it up initially
-                            droppedItem.setPickupDelay(0);
-                        }
-                        
+                    if (logRewards) {
+                        plugin.getLogger().info("Gave item reward to inventory for " + player.getName() + " at position " + position);
+                    }
+                    break;
+                }
+                case PER_PLAYER_DROP: {
+                    // Each player gets their own drop
+                    org.bukkit.entity.Item droppedItem = player.getWorld().dropItem(player.getLocation(), reward.getItem());
+                    
+                    if (reward.isPlayerOnly()) {
+                        // Make it visible only to this player
+                        droppedItem.setOwner(player.getUniqueId());
+                        // Set pickup delay so only owner can pick it up initially
+                        droppedItem.setPickupDelay(0);
+                    }
+                    
+                    if (logRewards) {
                         plugin.getLogger().info("Dropped per-player item for " + player.getName() + " at position " + position + " (visibility: " + reward.getVisibility() + ")");
-                    } else {
-                        // Single drop for all players at this position (only drop once)
-                        // This will be handled by checking if we already dropped for this position
-                        plugin.getLogger().info("Skipping shared drop for " + player.getName() + " - handled separately");
                     }
+                    break;
                 }
-            } else if ("command".equalsIgnoreCase(reward.getType()) && reward.getCommand() != null) {
-                String processedCommand = reward.getCommand()
-                        .replace("{player}", player.getName())
-                        .replace("{boss}", bossName)
-                        .replace("{position}", String.valueOf(position));
-                
-                plugin.getLogger().info("Executing command: " + processedCommand);
-                
-                // Schedule command execution on next tick to ensure it runs
-                Bukkit.getScheduler().runTask(plugin, () -> {
+                case COMMAND: {
+                    String processedCommand = reward.getCommand()
+                            .replace("{player}", player.getName())
+                            .replace("{boss}", bossName)
+                            .replace("{position}", String.valueOf(position));
+                    
+                    // Already running from the reward executor, outside of the death event
                     try {
                         boolean success = Bukkit.dispatchCommand(Bukkit.getConsoleSender(), processedCommand);
-                        plugin.getLogger().info("Command executed " + (success ? "successfully" : "with errors") + ": " + processedCommand);
+                        if (!success) {
+                            plugin.getLogger().warning("Command executed with errors: " + processedCommand);
+                        } else if (logRewards) {
+                            plugin.getLogger().info("Command executed successfully: " + processedCommand);
+                        }
                     } catch (Exception cmdEx) {
                         plugin.getLogger().log(Level.SEVERE, "Error executing command: " + processedCommand, cmdEx);
                     }
-                });
+                    break;
+                }
+                default:
+                    break;
             }
         } catch (Exception e) {
             plugin.getLogger().log(Level.SEVERE, "Error giving reward to " + player.getName(), e);
@@ -302,6 +346,27 @@ public class RewardManager {
         return bossRewards.get(bossName.toUpperCase());
     }
 
+    /**
+     * Gets the executor that runs queued reward actions.
+     */
+    public RewardExecutor getRewardExecutor() {
+        return rewardExecutor;
+    }
+
+    /**
+     * Runs every queued reward action and stops the executor.
+     */
+    public void shutdown() {
+        rewardExecutor.shutdown();
+    }
+
+    /**
+     * Gets the normalized names of every boss with a reward configuration.
+     */
+    public Set<String> getBossIds() {
+        return Collections.unmodifiableSet(bossRewards.keySet());
+    }
+
     /**
      * Checks if rewards are enabled for a boss.
      */
@@ -310,6 +375,54 @@ public class RewardManager {
         return config != null && config.isEnabled();
     }
 
+    /**
+     * Parses the position of a reward: a number, a range like "4-10", an open range like "4+" or "all".
+     *
+     * @return false if the position is invalid.
+     */
+    private boolean parsePosition(RewardConfig.Reward reward, Object value) {
+        if (value instanceof Number) {
+            int position = ((Number) value).intValue();
+            if (position < 1) return false;
+            reward.setRequiredPlace(position);
+            return true;
+        }
+        if (value == null) return false;
+
+        String text = value.toString().trim();
+        try {
+            if ("all".equalsIgnoreCase(text)) {
+                reward.setPlaceRange(1, RewardConfig.ALL_PLACES);
+            } else if (text.endsWith("+")) {
+                int min = Integer.parseInt(text.substring(0, text.length() - 1).trim());
+                if (min < 1) return false;
+                reward.setPlaceRange(min, RewardConfig.ALL_PLACES);
+            } else if (text.indexOf('-') > 0) {
+                int dash = text.indexOf('-');
+                int min = Integer.parseInt(text.substring(0, dash).trim());
+                int max = Integer.parseInt(text.substring(dash + 1).trim());
+                if (min < 1 || max < min) return false;
+                reward.setPlaceRange(min, max);
+            } else {
+                int position = Integer.parseInt(text);
+                if (position < 1) return false;
+                reward.setRequiredPlace(position);
+            }
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private String formatPosition(RewardConfig.Reward reward) {
+        if (reward.getMaxPlace() == RewardConfig.ALL_PLACES) {
+            return reward.getMinPlace() == 1 ? "all" : reward.getMinPlace() + "+";
+        }
+        return reward.getMinPlace() == reward.getMaxPlace()
+                ? String.valueOf(reward.getMinPlace())
+                : reward.getMinPlace() + "-" + reward.getMaxPlace();
+    }
+
     /**
      * Helper method to parse boolean values from YAML map with proper type handling.
      */
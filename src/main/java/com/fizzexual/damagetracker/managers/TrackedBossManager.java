@@ -1,6 +1,8 @@
 package com.fizzexual.damagetracker.managers;
 
 import com.fizzexual.damagetracker.DamageTracker;
+import com.fizzexual.damagetracker.configs.BossKey;
+import io.lumine.mythic.core.mobs.ActiveMob;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.entity.Player;
@@ -19,6 +21,7 @@ import java.util.stream.Collectors;
 public class TrackedBossManager {
     private final DamageTracker plugin;
     private final Set<String> trackedBossIds;
+    private final TrackedEntityCache entityCache = new TrackedEntityCache();
     private FileConfiguration config;
     private File configFile;
     private boolean persistData;
@@ -51,6 +54,8 @@ public class TrackedBossManager {
             config = YamlConfiguration.loadConfiguration(configFile);
 
             trackedBossIds.clear();
+            // Cached entities may have been resolved against the old list
+            entityCache.clear();
             
             // Load from new structure: bosses section
             var bossesSection = config.getConfigurationSection("bosses");
@@ -112,24 +117,76 @@ public class TrackedBossManager {
     }
 
     /**
-     * Adds damage to a boss for a specific player.
+     * Resolves whether an entity is a tracked boss and caches the result.
+     * @param entityId The UUID of the entity.
+     * @param activeMob The MythicMobs instance of the entity, or null if it is not a MythicMob.
+     * @return The cached entry, {@link TrackedEntityCache#NOT_TRACKED} if the entity is not tracked.
+     */
+    public TrackedEntityCache.Entry resolveEntity(UUID entityId, ActiveMob activeMob) {
+        if (activeMob != null) {
+            BossKey boss = plugin.getBossRegistry().getTracked(activeMob.getMobType());
+            if (boss != null) {
+                return entityCache.putTracked(entityId, boss, activeMob);
+            }
+        }
+        entityCache.putNotTracked(entityId);
+        return TrackedEntityCache.NOT_TRACKED;
+    }
+
+    /**
+     * Gets the cache of entities already resolved as tracked or not tracked.
+     * @return The entity cache.
+     */
+    public TrackedEntityCache getEntityCache() {
+        return entityCache;
+    }
+
+    /**
+     * Adds damage to a boss instance for a specific player.
      * @param bossId The ID of the boss.
+     * @param mobUuid The UUID of the boss instance.
      * @param player The player dealing the damage.
      * @param damage The amount of damage dealt.
+     * @return The accumulated damage of the player across the live instances of this boss.
      */
-    public void addDamage(String bossId, Player player, double damage) {
-        if (!isTrackedBoss(bossId)) return;
-        plugin.getDamageManager().addTrackedDamage(bossId, player, damage);
+    public double addDamage(String bossId, UUID mobUuid, Player player, double damage) {
+        if (!isTrackedBoss(bossId)) return 0.0;
+        return plugin.getDamageManager().addTrackedDamage(mobUuid, bossId, player, damage);
+    }
+
+    /**
+     * Adds damage to an instance of an already resolved boss.
+     * @param boss The key of the boss.
+     * @param mobUuid The UUID of the boss instance.
+     * @param player The player dealing the damage.
+     * @param damage The amount of damage dealt.
+     * @return The accumulated damage of the player across the live instances of this boss.
+     */
+    public double addDamage(BossKey boss, UUID mobUuid, Player player, double damage) {
+        if (!boss.isTracked()) return 0.0;
+        return plugin.getDamageManager().addTrackedDamage(mobUuid, boss.getId(), player, damage);
+    }
+
+    /**
+     * Sets the maximum health of a boss instance.
+     * @param boss The key of the boss.
+     * @param mobUuid The UUID of the boss instance.
+     * @param health The maximum health of the boss.
+     */
+    public void setBossMaxHealth(BossKey boss, UUID mobUuid, double health) {
+        if (!boss.isTracked()) return;
+        plugin.getDamageManager().setTrackedBossMaxHealth(mobUuid, boss.getId(), health);
     }
 
     /**
-     * Sets the maximum health of a boss.
+     * Sets the maximum health of a boss instance.
      * @param bossId The ID of the boss.
+     * @param mobUuid The UUID of the boss instance.
      * @param health The maximum health of the boss.
      */
-    public void setBossMaxHealth(String bossId, double health) {
+    public void setBossMaxHealth(String bossId, UUID mobUuid, double health) {
         if (!isTrackedBoss(bossId)) return;
-        plugin.getDamageManager().setTrackedBossMaxHealth(bossId, health);
+        plugin.getDamageManager().setTrackedBossMaxHealth(mobUuid, bossId, health);
     }
 
     /**
@@ -142,12 +199,21 @@ public class TrackedBossManager {
     }
 
     /**
-     * Schedules the cleanup of damage data for a specific boss.
-     * @param bossId The ID of the boss.
+     * Clears the damage data of a single boss instance.
+     * @param mobUuid The UUID of the boss instance.
+     */
+    public void clearInstanceData(UUID mobUuid) {
+        plugin.getDamageManager().removeTrackedInstance(mobUuid);
+    }
+
+    /**
+     * Schedules the cleanup of damage data for a specific boss instance.
+     * Other live instances of the same boss keep their data.
+     * @param mobUuid The UUID of the boss instance.
      */
-    public void scheduleDataCleanup(String bossId) {
+    public void scheduleDataCleanup(UUID mobUuid) {
         if (!persistData || dataRetentionTime <= 0) {
-            clearBossData(bossId);
+            clearInstanceData(mobUuid);
             return;
         }
 
@@ -155,7 +221,7 @@ public class TrackedBossManager {
             new BukkitRunnable() {
                 @Override
                 public void run() {
-                    clearBossData(bossId);
+                    clearInstanceData(mobUuid);
                 }
             }.runTaskLater(plugin, dataRetentionTime * 20L);
         }
@@ -0,0 +1,101 @@
+package com.fizzexual.damagetracker.managers;
+
+import com.fizzexual.damagetracker.configs.BossKey;
+import io.lumine.mythic.core.mobs.ActiveMob;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Remembers, per entity UUID, whether damaging that entity is tracked and as which boss.
+ * <p>
+ * Most damage events hit entities that are not tracked bosses (animals, vanilla mobs, untracked
+ * MythicMobs), so after the first hit they are rejected with a single lookup, without asking
+ * MythicMobs or normalizing the mob type again. Entries are added on MythicMobs spawn or on the
+ * first player hit, and removed when the entity dies, despawns or unloads.
+ * Only used from the server thread.
+ */
+public class TrackedEntityCache {
+    // Stale entries of entities removed without an event are dropped all at once past this size
+    private static final int MAX_ENTRIES = 50_000;
+
+    /**
+     * Cached result for one entity.
+     *
+     * @param boss The key of the tracked boss, or null if the entity is not tracked.
+     * @param mob The MythicMobs instance of a tracked entity, or null if the entity is not tracked.
+     */
+    public record Entry(BossKey boss, ActiveMob mob) {
+        public boolean isTracked() {
+            return boss != null;
+        }
+    }
+
+    /**
+     * Entry shared by every entity that is not a tracked boss.
+     */
+    public static final Entry NOT_TRACKED = new Entry(null, null);
+
+    private final Map<UUID, Entry> entries = new HashMap<>();
+
+    /**
+     * Gets the cached entry of an entity.
+     *
+     * @param entityId The UUID of the entity.
+     * @return The entry, {@link #NOT_TRACKED}, or null if the entity has not been seen yet.
+     */
+    public Entry get(UUID entityId) {
+        return entries.get(entityId);
+    }
+
+    /**
+     * Caches a tracked boss entity.
+     *
+     * @param entityId The UUID of the entity.
+     * @param boss The key of the boss.
+     * @param mob The MythicMobs instance.
+     * @return The new entry.
+     */
+    public Entry putTracked(UUID entityId, BossKey boss, ActiveMob mob) {
+        Entry entry = new Entry(boss, mob);
+        put(entityId, entry);
+        return entry;
+    }
+
+    /**
+     * Caches an entity that is not a tracked boss.
+     *
+     * @param entityId The UUID of the entity.
+     */
+    public void putNotTracked(UUID entityId) {
+        put(entityId, NOT_TRACKED);
+    }
+
+    private void put(UUID entityId, Entry entry) {
+        if (entries.size() >= MAX_ENTRIES && !entries.containsKey(entityId)) {
+            entries.clear();
+        }
+        entries.put(entityId, entry);
+    }
+
+    /**
+     * Forgets an entity, e.g. when it dies or unloads.
+     *
+     * @param entityId The UUID of the entity.
+     */
+    public void invalidate(UUID entityId) {
+        entries.remove(entityId);
+    }
+
+    /**
+     * Forgets every entity, e.g. when the tracked bosses change.
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+}
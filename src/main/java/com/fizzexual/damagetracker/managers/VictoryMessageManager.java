@@ -1,11 +1,14 @@
 package com.fizzexual.damagetracker.managers;
 
 import com.fizzexual.damagetracker.DamageTracker;
+import com.fizzexual.damagetracker.utils.MessageTemplate;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.configuration.file.YamlConfiguration;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -15,6 +18,10 @@ import java.util.logging.Level;
  * Manages victory messages for the DamageTracker plugin.
  */
 public class VictoryMessageManager {
+    /** Position format used for positions without a configured format. */
+    public static final MessageTemplate DEFAULT_POSITION_TEMPLATE =
+            MessageTemplate.compile("<gray>{player_name}: {damage} ({percentage}%)");
+
     private final DamageTracker plugin;
     private FileConfiguration messageConfig;
     private File messageFile;
@@ -22,6 +29,11 @@ public class VictoryMessageManager {
     private final Map<String, List<String>> positionFormats;
     private final Map<String, String> personalMessages;
     private final Map<String, String> nonParticipantMessages;
+    // Templates compiled from the messages above, keyed by the same IDs
+    private final Map<String, MessageTemplate> victoryTemplates;
+    private final Map<String, List<MessageTemplate>> positionTemplates;
+    private final Map<String, MessageTemplate> personalTemplates;
+    private final Map<String, MessageTemplate> nonParticipantTemplates;
 
     /**
      * Constructor for VictoryMessageManager.
@@ -34,6 +46,10 @@ public class VictoryMessageManager {
         this.positionFormats = new HashMap<>();
         this.personalMessages = new HashMap<>();
         this.nonParticipantMessages = new HashMap<>();
+        this.victoryTemplates = new HashMap<>();
+        this.positionTemplates = new HashMap<>();
+        this.personalTemplates = new HashMap<>();
+        this.nonParticipantTemplates = new HashMap<>();
         loadMessages();
     }
 
@@ -55,6 +71,30 @@ public class VictoryMessageManager {
         loadPositionFormats();
         loadPersonalMessages();
         loadNonParticipantMessages();
+        compileTemplates();
+    }
+
+    /**
+     * Compiles every loaded message into a template, so placeholders are located once per load.
+     */
+    private void compileTemplates() {
+        victoryTemplates.clear();
+        victoryMessages.forEach((key, message) -> victoryTemplates.put(key, MessageTemplate.compile(message)));
+
+        positionTemplates.clear();
+        positionFormats.forEach((key, formats) -> {
+            List<MessageTemplate> templates = new ArrayList<>(formats.size());
+            for (String format : formats) {
+                templates.add(MessageTemplate.compile(format));
+            }
+            positionTemplates.put(key, Collections.unmodifiableList(templates));
+        });
+
+        personalTemplates.clear();
+        personalMessages.forEach((key, message) -> personalTemplates.put(key, MessageTemplate.compile(message)));
+
+        nonParticipantTemplates.clear();
+        nonParticipantMessages.forEach((key, message) -> nonParticipantTemplates.put(key, MessageTemplate.compile(message)));
     }
 
     /**
@@ -150,6 +190,51 @@ public class VictoryMessageManager {
         return nonParticipantMessages.getOrDefault(messageId.toUpperCase(), nonParticipantMessages.get("DEFAULT"));
     }
 
+    /**
+     * Gets the compiled victory message for a given message ID.
+     *
+     * @param messageId The ID of the message.
+     * @return The victory message template, or null if neither the ID nor DEFAULT exist.
+     */
+    public MessageTemplate getVictoryTemplate(String messageId) {
+        return victoryTemplates.getOrDefault(messageId.toUpperCase(), victoryTemplates.get("DEFAULT"));
+    }
+
+    /**
+     * Gets the compiled format of one leaderboard position.
+     *
+     * @param formatId The ID of the format.
+     * @param position The position, starting at 1.
+     * @return The position template, or {@link #DEFAULT_POSITION_TEMPLATE} if the format has no line for it.
+     */
+    public MessageTemplate getPositionTemplate(String formatId, int position) {
+        List<MessageTemplate> templates = positionTemplates.getOrDefault(formatId.toUpperCase(), positionTemplates.get("DEFAULT"));
+        if (templates == null || position > templates.size()) {
+            return DEFAULT_POSITION_TEMPLATE;
+        }
+        return templates.get(position - 1);
+    }
+
+    /**
+     * Gets the compiled personal message for a given message ID.
+     *
+     * @param messageId The ID of the message.
+     * @return The personal message template.
+     */
+    public MessageTemplate getPersonalTemplate(String messageId) {
+        return personalTemplates.getOrDefault(messageId.toUpperCase(), personalTemplates.get("DEFAULT"));
+    }
+
+    /**
+     * Gets the compiled non-participant message for a given message ID.
+     *
+     * @param messageId The ID of the message.
+     * @return The non-participant message template.
+     */
+    public MessageTemplate getNonParticipantTemplate(String messageId) {
+        return nonParticipantTemplates.getOrDefault(messageId.toUpperCase(), nonParticipantTemplates.get("DEFAULT"));
+    }
+
     /**
      * Saves the configuration to the file.
      */
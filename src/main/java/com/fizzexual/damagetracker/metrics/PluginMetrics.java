@@ -0,0 +1,223 @@
+package com.fizzexual.damagetracker.metrics;
+
+import com.fizzexual.damagetracker.DamageTracker;
+import com.fizzexual.damagetracker.managers.DamageAggregator;
+import com.fizzexual.damagetracker.managers.DamageManager;
+import com.fizzexual.damagetracker.managers.DamageWriteQueue;
+import com.fizzexual.damagetracker.managers.RewardExecutor;
+import com.fizzexual.damagetracker.utils.MessageUtils;
+import org.bukkit.Bukkit;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Timing of the plugin's hot paths, plus the live sizes of its queues, ledgers and caches.
+ * <p>
+ * Callers wrap a section with {@link #start()} and {@link #stop(Section, long)}. When metrics
+ * are disabled, {@code start()} returns 0 and {@code stop} does nothing, so the cost is one branch.
+ */
+public class PluginMetrics {
+
+    /**
+     * A timed section of the plugin.
+     */
+    public enum Section {
+        DAMAGE_EVENT("Damage event"),
+        DAMAGE_FOLD("Damage fold"),
+        DEATH_EVENT("Death event"),
+        REWARD_DISTRIBUTION("Reward distribution"),
+        VICTORY_BROADCAST("Victory broadcast"),
+        HOLOGRAM_CREATION("Hologram creation"),
+        DB_UPDATE_DAMAGE("DB update damage"),
+        DB_WRITE_BATCH("DB write batch"),
+        DB_LEADERBOARD("DB leaderboard query"),
+        DB_KILL_WRITE("DB kill write"),
+        DB_KILL_QUERY("DB kill history query");
+
+        private final String displayName;
+
+        Section(String displayName) {
+            this.displayName = displayName;
+        }
+
+        public String getDisplayName() {
+            return displayName;
+        }
+    }
+
+    private final DamageTracker plugin;
+    private final Map<Section, LatencyHistogram> histograms;
+    private volatile boolean enabled;
+    private long startedAt;
+    private BukkitTask logTask;
+
+    /**
+     * Constructor for PluginMetrics. Metrics start enabled, without periodic logging.
+     *
+     * @param plugin The main plugin instance.
+     */
+    public PluginMetrics(DamageTracker plugin) {
+        this.plugin = plugin;
+        this.histograms = new EnumMap<>(Section.class);
+        for (Section section : Section.values()) {
+            histograms.put(section, new LatencyHistogram());
+        }
+        this.enabled = true;
+        this.startedAt = System.currentTimeMillis();
+    }
+
+    /**
+     * Applies the metrics settings, restarting the periodic log dump if needed.
+     *
+     * @param enabled Whether sections are timed.
+     * @param logIntervalSeconds How often the report is written to the console, 0 to disable.
+     */
+    public void configure(boolean enabled, int logIntervalSeconds) {
+        this.enabled = enabled;
+        if (logTask != null) {
+            logTask.cancel();
+            logTask = null;
+        }
+        if (enabled && logIntervalSeconds > 0) {
+            long period = logIntervalSeconds * 20L;
+            // Runs on the server thread, which owns the live ledgers
+            logTask = Bukkit.getScheduler().runTaskTimer(plugin, this::logReport, period, period);
+        }
+    }
+
+    /**
+     * Stops the periodic log dump.
+     */
+    public void shutdown() {
+        if (logTask != null) {
+            logTask.cancel();
+            logTask = null;
+        }
+    }
+
+    /**
+     * Marks the start of a timed section.
+     *
+     * @return The start time to pass to {@link #stop(Section, long)}, or 0 if metrics are disabled.
+     */
+    public long start() {
+        return enabled ? System.nanoTime() : 0L;
+    }
+
+    /**
+     * Records the time elapsed since {@link #start()}.
+     *
+     * @param section The section that was timed.
+     * @param startNanos The value returned by {@code start()}.
+     */
+    public void stop(Section section, long startNanos) {
+        if (startNanos != 0L) {
+            histograms.get(section).record(System.nanoTime() - startNanos);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public LatencyHistogram getHistogram(Section section) {
+        return histograms.get(section);
+    }
+
+    /**
+     * Clears every timed section.
+     */
+    public void reset() {
+        for (LatencyHistogram histogram : histograms.values()) {
+            histogram.reset();
+        }
+        startedAt = System.currentTimeMillis();
+    }
+
+    /**
+     * Builds the plain text report shown by {@code /ed stats} and written to the console.
+     * Must be called from the server thread.
+     *
+     * @return The lines of the report.
+     */
+    public List<String> getReport() {
+        List<String> lines = new ArrayList<>();
+        long seconds = (System.currentTimeMillis() - startedAt) / 1000L;
+        lines.add("Timings over the last " + formatUptime(seconds) + (enabled ? "" : " (disabled)") + ":");
+        for (Section section : Section.values()) {
+            LatencyHistogram histogram = histograms.get(section);
+            long count = histogram.getCount();
+            if (count == 0) {
+                lines.add("  " + section.getDisplayName() + ": no samples");
+                continue;
+            }
+            lines.add("  " + section.getDisplayName() + ": n=" + count
+                    + " avg=" + formatNanos((long) histogram.getMeanNanos())
+                    + " p50=" + formatNanos(histogram.getPercentileNanos(0.50))
+                    + " p99=" + formatNanos(histogram.getPercentileNanos(0.99))
+                    + " p99.9=" + formatNanos(histogram.getPercentileNanos(0.999))
+                    + " max=" + formatNanos(histogram.getMaxNanos())
+                    + " total=" + formatNanos(histogram.getTotalNanos()));
+        }
+
+        DamageManager damageManager = plugin.getDamageManager();
+        if (damageManager != null) {
+            lines.add("Ledgers: " + damageManager.getLiveInstanceCount() + " live instances, "
+                    + damageManager.getTrackedTypeCount() + " boss types, "
+                    + damageManager.getLedgerEntryCount() + " player entries");
+        }
+
+        DamageAggregator aggregator = plugin.getDamageAggregator();
+        if (aggregator != null && aggregator.isEnabled()) {
+            lines.add("Damage aggregation: " + aggregator.getWindowTicks() + " tick window, "
+                    + aggregator.getBufferedHits() + " buffered, "
+                    + aggregator.getFoldedHits() + " hits folded into " + aggregator.getFoldedUpdates() + " updates");
+        }
+
+        if (plugin.getDatabaseManager() != null && plugin.getDatabaseManager().getWriteQueue() != null) {
+            DamageWriteQueue writeQueue = plugin.getDatabaseManager().getWriteQueue();
+            lines.add("DB writes: " + writeQueue.getPendingCount() + " pending, "
+                    + writeQueue.getRowsWritten() + " rows in " + writeQueue.getBatchesWritten() + " batches, "
+                    + writeQueue.getDroppedUpdates() + " dropped");
+        }
+
+        if (plugin.getRewardManager() != null) {
+            RewardExecutor executor = plugin.getRewardManager().getRewardExecutor();
+            lines.add(String.format("Rewards: %d queued (peak %d), %d executed, %d skipped, %d failed",
+                    executor.getQueueDepth(), executor.getPeakQueueDepth(), executor.getExecutedActions(),
+                    executor.getSkippedActions(), executor.getFailedActions()));
+            lines.add(String.format("  queue latency avg=%.2fms max=%.2fms, drain last=%.2fms max=%.2fms",
+                    executor.getAverageLatencyMillis(), executor.getMaxLatencyMillis(),
+                    executor.getLastDrainMillis(), executor.getMaxDrainMillis()));
+        }
+
+        long hits = MessageUtils.getCacheHits();
+        long misses = MessageUtils.getCacheMisses();
+        lines.add(String.format("Message cache: %d entries, %d hits, %d misses (%.1f%% hit rate)",
+                MessageUtils.getCacheSize(), hits, misses, hits + misses == 0 ? 0.0 : hits * 100.0 / (hits + misses)));
+        return lines;
+    }
+
+    private void logReport() {
+        for (String line : getReport()) {
+            plugin.getLogger().info(line);
+        }
+    }
+
+    private static String formatNanos(long nanos) {
+        if (nanos < 1_000L) return nanos + "ns";
+        if (nanos < 1_000_000L) return String.format("%.1fµs", nanos / 1_000.0);
+        if (nanos < 1_000_000_000L) return String.format("%.2fms", nanos / 1_000_000.0);
+        return String.format("%.2fs", nanos / 1_000_000_000.0);
+    }
+
+    private static String formatUptime(long seconds) {
+        if (seconds < 60) return seconds + "s";
+        if (seconds < 3600) return (seconds / 60) + "m " + (seconds % 60) + "s";
+        return (seconds / 3600) + "h " + (seconds % 3600 / 60) + "m";
+    }
+}
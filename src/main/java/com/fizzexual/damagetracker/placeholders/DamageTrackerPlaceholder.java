@@ -1,32 +1,50 @@
 package com.fizzexual.damagetracker.placeholders;
 
 import com.fizzexual.damagetracker.DamageTracker;
-import com.fizzexual.damagetracker.managers.DatabaseManager;
+import com.fizzexual.damagetracker.data.LedgerSnapshot;
+import com.fizzexual.damagetracker.managers.DamageManager;
+import com.fizzexual.damagetracker.managers.LeaderboardCache;
 import me.clip.placeholderapi.expansion.PlaceholderExpansion;
-import org.bukkit.Bukkit;
 import org.bukkit.OfflinePlayer;
 import org.jetbrains.annotations.NotNull;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
-import java.util.HashMap;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Placeholder expansion for the DamageTracker plugin.
  */
 public class DamageTrackerPlaceholder extends PlaceholderExpansion {
+    // Identifiers come from other plugins' configurations, this only guards against unbounded growth
+    private static final int MAX_RESOLVERS = 4096;
+
+    /**
+     * Answers one parsed placeholder identifier.
+     */
+    @FunctionalInterface
+    private interface Resolver {
+        String resolve(OfflinePlayer player);
+    }
+
+    // Answer of identifiers this expansion does not support
+    private static final Resolver UNKNOWN = player -> null;
+
     private final DamageTracker plugin;
-    private final DatabaseManager databaseManager;
+    // Identifiers are parsed once and then dispatched with a single lookup
+    private final Map<String, Resolver> resolvers = new ConcurrentHashMap<>();
+    private final LeaderboardCache leaderboardCache;
 
     /**
      * Constructor for DamageTrackerPlaceholder.
      *
      * @param plugin The main plugin instance.
+     * @param leaderboardCache The cache serving the damagetop placeholders.
      */
-    public DamageTrackerPlaceholder(DamageTracker plugin, DatabaseManager databaseManager) {
+    public DamageTrackerPlaceholder(DamageTracker plugin, LeaderboardCache leaderboardCache) {
         this.plugin = plugin;
-        this.databaseManager = databaseManager;
+        this.leaderboardCache = leaderboardCache;
     }
 
     /**
@@ -68,66 +86,126 @@ public class DamageTrackerPlaceholder extends PlaceholderExpansion {
      */
     @Override
     public String onRequest(OfflinePlayer player, @NotNull String identifier) {
-        // Handle leaderboard placeholders (from DamageLeaderboardExpansion)
+        Resolver resolver = resolvers.get(identifier);
+        if (resolver == null) {
+            resolver = parse(identifier);
+            if (resolvers.size() >= MAX_RESOLVERS) {
+                resolvers.clear();
+            }
+            resolvers.put(identifier, resolver);
+        }
+        return resolver.resolve(player);
+    }
+
+    /**
+     * Parses an identifier once into the resolver that answers it.
+     *
+     * @param identifier The identifier of the placeholder.
+     * @return The resolver, {@link #UNKNOWN} if the identifier is not supported.
+     */
+    private Resolver parse(String identifier) {
+        // Handle leaderboard placeholders (from DamageLeaderboardExpansion), served from the cache
         if (identifier.startsWith("damagetop_")) {
-            String bossName = identifier.substring(10); 
-            return databaseManager.getFormattedLeaderboard(bossName);
+            String bossName = identifier.substring(10);
+            return player -> leaderboardCache.get(bossName);
         }
 
-        // Handle general damage placeholders (original functionality)
-        Map<UUID, Double> totalDamageMap = new HashMap<>();
-        Map<UUID, Map<UUID, Double>> allDamageData = plugin.getAllDamageData();
+        // Handle live placeholders of a tracked boss: live_<boss>_<stat>, boss names may contain underscores
+        if (identifier.startsWith("live_")) {
+            return parseLive(identifier.substring(5));
+        }
 
-        for (Map<UUID, Double> damageMap : allDamageData.values()) {
-            for (Map.Entry<UUID, Double> entry : damageMap.entrySet()) {
-                totalDamageMap.merge(entry.getKey(), entry.getValue(), Double::sum);
+        // Handle general damage placeholders: top_<n>_name, top_<n>_damage, player_damage, player_position
+        String[] parts = identifier.split("_");
+        if (parts.length == 3 && parts[0].equals("top")) {
+            int position;
+            try {
+                position = Integer.parseInt(parts[1]);
+            } catch (NumberFormatException e) {
+                return UNKNOWN;
             }
-        }
+            if (position < 1 || position > DamageManager.GLOBAL_TOP_SIZE) return UNKNOWN;
 
-        List<Map.Entry<UUID, Double>> topThree = totalDamageMap.entrySet().stream()
-                .sorted((e1, e2) -> e2.getValue().compareTo(e1.getValue()))
-                .limit(3)
-                .collect(Collectors.toList());
+            return switch (parts[2]) {
+                case "name" -> player -> {
+                    List<DamageManager.GlobalTopEntry> top = plugin.getDamageManager().getGlobalTop();
+                    return top.size() < position ? "N/A" : top.get(position - 1).name();
+                };
+                case "damage" -> player -> {
+                    List<DamageManager.GlobalTopEntry> top = plugin.getDamageManager().getGlobalTop();
+                    return top.size() < position ? "N/A" : top.get(position - 1).damage();
+                };
+                default -> UNKNOWN;
+            };
+        }
 
-        String[] parts = identifier.split("_");
-        if (parts.length != 2) return null;
+        return switch (identifier) {
+            case "player_damage" -> player -> player == null ? null
+                    : String.format("%.2f", plugin.getDamageManager().getGlobalSnapshot().getDamage(player.getUniqueId()));
+            case "player_position" -> player -> {
+                if (player == null) return null;
+                int position = plugin.getDamageManager().getGlobalSnapshot().rankOf(player.getUniqueId());
+                return position > 0 ? String.valueOf(position) : "N/A";
+            };
+            default -> UNKNOWN;
+        };
+    }
 
-        int position;
-        try {
-            position = Integer.parseInt(parts[1]);
-        } catch (NumberFormatException e) {
-            return null;
+    /**
+     * Parses the part of a live placeholder after {@code live_}, reading the stat from the end.
+     *
+     * @param rest The boss name followed by the stat, e.g. {@code SKELETON_KING_top_1_name}.
+     * @return The resolver, {@link #UNKNOWN} if the stat is not supported.
+     */
+    private Resolver parseLive(String rest) {
+        String[] parts = rest.split("_");
+        int statStart = parts.length - 1;
+        if (parts.length >= 4 && parts[parts.length - 3].equals("top")) {
+            statStart = parts.length - 3;
         }
+        if (statStart < 1) return UNKNOWN;
 
-        if (position < 1 || position > 3) return null;
-        if (topThree.size() < position) return "N/A";
-
-        Map.Entry<UUID, Double> entry = topThree.get(position - 1);
-        UUID playerId = entry.getKey();
-        Double damage = entry.getValue();
-
-        return switch (parts[0]) {
-            case "top" -> parts[1].endsWith("name") ?
-                    Bukkit.getOfflinePlayer(playerId).getName() :
-                    parts[1].endsWith("damage") ?
-                            String.format("%.2f", damage) :
-                            null;
-            case "player" -> {
-                if (player == null) yield null;
-                yield switch (parts[1]) {
-                    case "damage" ->
-                            String.format("%.2f", totalDamageMap.getOrDefault(player.getUniqueId(), 0.0));
-                    case "position" -> {
-                        int playerPosition = topThree.indexOf(topThree.stream()
-                                .filter(e -> e.getKey().equals(player.getUniqueId()))
-                                .findFirst()
-                                .orElse(null)) + 1;
-                        yield playerPosition > 0 ? String.valueOf(playerPosition) : "N/A";
-                    }
-                    default -> null;
-                };
+        String bossId = String.join("_", Arrays.copyOfRange(parts, 0, statStart)).toUpperCase();
+        DamageManager damageManager = plugin.getDamageManager();
+
+        if (statStart == parts.length - 3) {
+            int rank;
+            try {
+                rank = Integer.parseInt(parts[parts.length - 2]);
+            } catch (NumberFormatException e) {
+                return UNKNOWN;
             }
-            default -> null;
+            if (rank < 1) return UNKNOWN;
+
+            return switch (parts[parts.length - 1]) {
+                case "name" -> player -> {
+                    LedgerSnapshot snapshot = damageManager.getTrackedBossSnapshot(bossId);
+                    if (snapshot.size() < rank) return "N/A";
+                    UUID playerId = snapshot.playerAtRank(rank);
+                    String name = damageManager.getPlayerName(playerId);
+                    return name != null ? name : playerId.toString();
+                };
+                case "damage" -> player -> {
+                    LedgerSnapshot snapshot = damageManager.getTrackedBossSnapshot(bossId);
+                    return snapshot.size() < rank ? "N/A" : String.format("%.2f", snapshot.damageAtRank(rank));
+                };
+                default -> UNKNOWN;
+            };
+        }
+
+        return switch (parts[parts.length - 1]) {
+            case "rank" -> player -> {
+                if (player == null) return null;
+                int rank = damageManager.getTrackedBossSnapshot(bossId).rankOf(player.getUniqueId());
+                return rank > 0 ? String.valueOf(rank) : "N/A";
+            };
+            case "damage" -> player -> player == null ? null
+                    : String.format("%.2f", damageManager.getTrackedBossSnapshot(bossId).getDamage(player.getUniqueId()));
+            case "percent" -> player -> player == null ? null
+                    : String.format("%.1f", damageManager.getTrackedBossSnapshot(bossId).percentage(player.getUniqueId()));
+            case "participants" -> player -> String.valueOf(damageManager.getTrackedBossSnapshot(bossId).size());
+            case "total" -> player -> String.format("%.2f", damageManager.getTrackedBossSnapshot(bossId).total());
+            default -> UNKNOWN;
         };
     }
 }
@@ -0,0 +1,237 @@
+package com.fizzexual.damagetracker.utils;
+
+/**
+ * Single-pass translator between legacy color codes, hex colors and MiniMessage tags.
+ * <p>
+ * Each method walks its input once and resolves codes and tags through lookup tables,
+ * instead of running a separate {@code replace} or regex pass for every color.
+ */
+public final class ColorTranslator {
+    private static final char SECTION = '§';
+    private static final char AMPERSAND = '&';
+    // Characters accepted after '&' by ChatColor.translateAlternateColorCodes
+    private static final String ALTERNATE_CODES = "0123456789AaBbCcDdEeFfKkLlMmNnOoRrXx";
+
+    // MiniMessage tag for each legacy code, indexed by the code character
+    private static final String[] TAG_BY_CODE = new String[128];
+    // Legacy code for each MiniMessage tag name, grouped by the first character of the name
+    private static final String[][] TAGS_BY_FIRST_CHAR = new String[128][];
+    private static final char[][] CODES_BY_FIRST_CHAR = new char[128][];
+
+    static {
+        String[][] mapping = {
+                {"0", "black"}, {"1", "dark_blue"}, {"2", "dark_green"}, {"3", "dark_aqua"},
+                {"4", "dark_red"}, {"5", "dark_purple"}, {"6", "gold"}, {"7", "gray"},
+                {"8", "dark_gray"}, {"9", "blue"}, {"a", "green"}, {"b", "aqua"},
+                {"c", "red"}, {"d", "light_purple"}, {"e", "yellow"}, {"f", "white"},
+                {"l", "bold"}, {"m", "strikethrough"}, {"n", "underline"}, {"o", "italic"},
+                {"r", "reset"}
+        };
+
+        for (String[] entry : mapping) {
+            char code = entry[0].charAt(0);
+            String name = entry[1];
+            TAG_BY_CODE[code] = "<" + name + ">";
+
+            char first = name.charAt(0);
+            String[] names = TAGS_BY_FIRST_CHAR[first];
+            char[] codes = CODES_BY_FIRST_CHAR[first];
+            int size = names == null ? 0 : names.length;
+            String[] grownNames = new String[size + 1];
+            char[] grownCodes = new char[size + 1];
+            if (size > 0) {
+                System.arraycopy(names, 0, grownNames, 0, size);
+                System.arraycopy(codes, 0, grownCodes, 0, size);
+            }
+            grownNames[size] = name;
+            grownCodes[size] = code;
+            TAGS_BY_FIRST_CHAR[first] = grownNames;
+            CODES_BY_FIRST_CHAR[first] = grownCodes;
+        }
+    }
+
+    private ColorTranslator() {
+    }
+
+    /**
+     * Converts '&' and '§' color codes and "&#RRGGBB" hex colors to MiniMessage tags.
+     * Codes without a MiniMessage equivalent are kept as '§' codes.
+     *
+     * @param input The text to convert, may be null.
+     * @return The converted text.
+     */
+    public static String legacyToMiniMessage(String input) {
+        if (input == null) return null;
+
+        int length = input.length();
+        int start = firstSpecial(input);
+        if (start < 0) return input;
+
+        StringBuilder out = new StringBuilder(length + 32);
+        out.append(input, 0, start);
+
+        int i = start;
+        while (i < length) {
+            char c = input.charAt(i);
+            if (c == AMPERSAND && i + 1 < length) {
+                char next = input.charAt(i + 1);
+                if (ALTERNATE_CODES.indexOf(next) >= 0) {
+                    appendCode(out, Character.toLowerCase(next));
+                    i += 2;
+                    continue;
+                }
+                if (next == '#' && isHex(input, i + 2)) {
+                    out.append("<#").append(input, i + 2, i + 8).append('>');
+                    i += 8;
+                    continue;
+                }
+            } else if (c == SECTION && i + 1 < length) {
+                char next = input.charAt(i + 1);
+                String tag = next < 128 ? TAG_BY_CODE[next] : null;
+                if (tag != null) {
+                    out.append(tag);
+                    i += 2;
+                    continue;
+                }
+            }
+            out.append(c);
+            i++;
+        }
+        return out.toString();
+    }
+
+    /**
+     * Converts MiniMessage color and decoration tags to '§' color codes, for text that is not
+     * rendered by MiniMessage such as hologram lines. Closing tags become a reset code and
+     * "<#RRGGBB>" becomes the "§x§R§R§G§G§B§B" hex format. Other tags are kept as written.
+     *
+     * @param input The text to convert, may be null.
+     * @return The converted text.
+     */
+    public static String miniMessageToLegacy(String input) {
+        if (input == null) return null;
+
+        int start = input.indexOf('<');
+        if (start < 0) return input;
+
+        int length = input.length();
+        StringBuilder out = new StringBuilder(length);
+        out.append(input, 0, start);
+
+        int i = start;
+        while (i < length) {
+            char c = input.charAt(i);
+            if (c == '<') {
+                int consumed = translateTag(input, i, out);
+                if (consumed > 0) {
+                    i += consumed;
+                    continue;
+                }
+            }
+            out.append(c);
+            i++;
+        }
+        return out.toString();
+    }
+
+    /**
+     * Converts '§' color codes to MiniMessage tags, leaving '&' untouched.
+     *
+     * @param input The text to convert, may be null.
+     * @return The converted text.
+     */
+    public static String sectionToMiniMessage(String input) {
+        if (input == null) return null;
+
+        int start = input.indexOf(SECTION);
+        if (start < 0) return input;
+
+        int length = input.length();
+        StringBuilder out = new StringBuilder(length + 16);
+        out.append(input, 0, start);
+
+        int i = start;
+        while (i < length) {
+            char c = input.charAt(i);
+            if (c == SECTION && i + 1 < length) {
+                char next = input.charAt(i + 1);
+                String tag = next < 128 ? TAG_BY_CODE[next] : null;
+                if (tag != null) {
+                    out.append(tag);
+                    i += 2;
+                    continue;
+                }
+            }
+            out.append(c);
+            i++;
+        }
+        return out.toString();
+    }
+
+    private static int firstSpecial(String input) {
+        int ampersand = input.indexOf(AMPERSAND);
+        int section = input.indexOf(SECTION);
+        if (ampersand < 0) return section;
+        if (section < 0) return ampersand;
+        return Math.min(ampersand, section);
+    }
+
+    private static void appendCode(StringBuilder out, char code) {
+        String tag = TAG_BY_CODE[code];
+        if (tag != null) {
+            out.append(tag);
+        } else {
+            out.append(SECTION).append(code);
+        }
+    }
+
+    private static boolean isHex(String input, int from) {
+        if (from + 6 > input.length()) return false;
+        for (int i = from; i < from + 6; i++) {
+            if (Character.digit(input.charAt(i), 16) < 0) return false;
+        }
+        return true;
+    }
+
+    // Translates the tag starting at index and returns the number of characters consumed, or 0 if unknown
+    private static int translateTag(String input, int index, StringBuilder out) {
+        int length = input.length();
+        boolean closing = index + 1 < length && input.charAt(index + 1) == '/';
+        int nameStart = index + (closing ? 2 : 1);
+        if (nameStart >= length) return 0;
+
+        char first = input.charAt(nameStart);
+        if (first == '#') {
+            if (!isHex(input, nameStart + 1) || nameStart + 7 >= length || input.charAt(nameStart + 7) != '>') {
+                return 0;
+            }
+            if (closing) {
+                out.append(SECTION).append('r');
+            } else {
+                out.append(SECTION).append('x');
+                for (int i = nameStart + 1; i < nameStart + 7; i++) {
+                    out.append(SECTION).append(input.charAt(i));
+                }
+            }
+            return nameStart + 8 - index;
+        }
+
+        String[] names = first < 128 ? TAGS_BY_FIRST_CHAR[first] : null;
+        if (names == null) return 0;
+
+        for (int n = 0; n < names.length; n++) {
+            String name = names[n];
+            int end = nameStart + name.length();
+            if (end < length && input.charAt(end) == '>' && input.regionMatches(nameStart, name, 0, name.length())) {
+                char code = CODES_BY_FIRST_CHAR[first][n];
+                if (!closing) {
+                    out.append(SECTION).append(code);
+                } else if (code != 'r') {
+                    out.append(SECTION).append('r');
+                }
+                return end + 1 - index;
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,192 @@
+package com.fizzexual.damagetracker.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A message from messages.yml parsed once into literal text and placeholder slots.
+ * <p>
+ * Rendering walks the segments once and appends them to a builder supplied by the caller,
+ * instead of scanning the whole message again for every placeholder.
+ * Placeholders without a value are rendered as written, like an unreplaced {@code String.replace}.
+ */
+public final class MessageTemplate {
+
+    /**
+     * Placeholders supported in victory, personal and position messages.
+     */
+    public enum Placeholder {
+        BOSS_NAME("{boss_name}"),
+        TOP_PLAYERS("{top_players}"),
+        PERSONAL_DAMAGE("{personal_damage}"),
+        PLAYER_NAME("{player_name}"),
+        POSITION("{position}"),
+        DAMAGE("{damage}"),
+        PERCENTAGE("{percentage}"),
+        PREFIX("{prefix}");
+
+        private static final Placeholder[] VALUES = values();
+        private final String token;
+
+        Placeholder(String token) {
+            this.token = token;
+        }
+
+        public String getToken() {
+            return token;
+        }
+
+        /**
+         * Creates an empty value array indexed by placeholder ordinal, for use with {@link #renderTo}.
+         */
+        public static String[] newValues() {
+            return new String[VALUES.length];
+        }
+    }
+
+    private final String source;
+    // literals.length == slots.length + 1, rendered as literals[0] slots[0] literals[1] ...
+    private final String[] literals;
+    private final Placeholder[] slots;
+    private final int placeholderMask;
+    private final int literalLength;
+
+    private MessageTemplate(String[] literals, Placeholder[] slots) {
+        this(join(literals, slots), literals, slots);
+    }
+
+    private MessageTemplate(String source, String[] literals, Placeholder[] slots) {
+        this.source = source;
+        this.literals = literals;
+        this.slots = slots;
+
+        int mask = 0;
+        for (Placeholder slot : slots) {
+            mask |= 1 << slot.ordinal();
+        }
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.placeholderMask = mask;
+        this.literalLength = length;
+    }
+
+    /**
+     * Parses a message into a template.
+     *
+     * @param source The message text, may be null.
+     * @return The compiled template, or null if the source is null.
+     */
+    public static MessageTemplate compile(String source) {
+        if (source == null) return null;
+
+        List<String> literals = new ArrayList<>();
+        List<Placeholder> slots = new ArrayList<>();
+        int literalStart = 0;
+        int index = source.indexOf('{');
+
+        while (index >= 0) {
+            Placeholder match = match(source, index);
+            if (match != null) {
+                literals.add(source.substring(literalStart, index));
+                slots.add(match);
+                literalStart = index + match.token.length();
+                index = source.indexOf('{', literalStart);
+            } else {
+                index = source.indexOf('{', index + 1);
+            }
+        }
+        literals.add(source.substring(literalStart));
+
+        return new MessageTemplate(source, literals.toArray(new String[0]), slots.toArray(new Placeholder[0]));
+    }
+
+    private static Placeholder match(String source, int index) {
+        for (Placeholder placeholder : Placeholder.VALUES) {
+            if (source.startsWith(placeholder.token, index)) {
+                return placeholder;
+            }
+        }
+        return null;
+    }
+
+    private static String join(String[] literals, Placeholder[] slots) {
+        StringBuilder out = new StringBuilder(literals[0]);
+        for (int i = 0; i < slots.length; i++) {
+            out.append(slots[i].token).append(literals[i + 1]);
+        }
+        return out.toString();
+    }
+
+    /**
+     * Splits the template into the parts before and after a placeholder.
+     *
+     * @param placeholder The placeholder to split at.
+     * @return The parts before and after the placeholder, or null unless the placeholder occurs exactly once.
+     */
+    public MessageTemplate[] splitAround(Placeholder placeholder) {
+        int at = -1;
+        for (int i = 0; i < slots.length; i++) {
+            if (slots[i] == placeholder) {
+                if (at >= 0) return null;
+                at = i;
+            }
+        }
+        if (at < 0) return null;
+
+        MessageTemplate before = new MessageTemplate(
+                Arrays.copyOfRange(literals, 0, at + 1), Arrays.copyOfRange(slots, 0, at));
+        MessageTemplate after = new MessageTemplate(
+                Arrays.copyOfRange(literals, at + 1, literals.length), Arrays.copyOfRange(slots, at + 1, slots.length));
+        return new MessageTemplate[]{before, after};
+    }
+
+    /**
+     * Checks if the template uses a placeholder.
+     */
+    public boolean contains(Placeholder placeholder) {
+        return (placeholderMask & (1 << placeholder.ordinal())) != 0;
+    }
+
+    /**
+     * Appends the rendered message to a builder.
+     *
+     * @param out The builder to append to.
+     * @param values Values indexed by placeholder ordinal, see {@link Placeholder#newValues()}.
+     * @return The same builder.
+     */
+    public StringBuilder renderTo(StringBuilder out, String[] values) {
+        out.append(literals[0]);
+        for (int i = 0; i < slots.length; i++) {
+            String value = values[slots[i].ordinal()];
+            out.append(value != null ? value : slots[i].token);
+            out.append(literals[i + 1]);
+        }
+        return out;
+    }
+
+    /**
+     * Renders the message into a new string.
+     *
+     * @param values Values indexed by placeholder ordinal, see {@link Placeholder#newValues()}.
+     * @return The rendered message.
+     */
+    public String render(String[] values) {
+        if (slots.length == 0) return source;
+        return renderTo(new StringBuilder(literalLength + 16 * slots.length), values).toString();
+    }
+
+    /**
+     * Gets the message text as written in messages.yml.
+     */
+    public String getSource() {
+        return source;
+    }
+
+    @Override
+    public String toString() {
+        return source;
+    }
+}
@@ -3,11 +3,17 @@ package com.fizzexual.damagetracker.utils;
 import com.fizzexual.damagetracker.DamageTracker;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.minimessage.MiniMessage;
+import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
 import net.kyori.adventure.platform.bukkit.BukkitAudiences;
 import org.bukkit.ChatColor;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
 
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
 public class MessageUtils {
     // MiniMessage instance for deserialization
     private static final MiniMessage miniMessage = MiniMessage.miniMessage();
@@ -16,6 +22,12 @@ public class MessageUtils {
     // Constants for chat width and space width in pixels
     private static final int CHAT_WIDTH = 320; // Minecraft's chat width in pixels
     private static final int SPACE_WIDTH = 4; // Width of a space character in pixels
+    // Patterns used to strip colors when centering text
+    private static final Pattern LEGACY_CODE_PATTERN = Pattern.compile("§[0-9a-fk-or]");
+    private static final Pattern TAG_PATTERN = Pattern.compile("<[^>]*>");
+    private static final Pattern HEX_CODE_PATTERN = Pattern.compile("&#[A-Fa-f0-9]{6}");
+    // LRU cache of deserialized messages, keyed by the raw message
+    private static final ComponentCache cache = new ComponentCache(512, 262144);
     
     // Initialize the BukkitAudiences instance
     public static void init(DamageTracker plugin) {
@@ -41,8 +53,44 @@ public class MessageUtils {
         }
     }
 
-    // Deserialize a message using MiniMessage
+    // Send a message built from live values, without adding it to the cache
+    public static void sendMessageUncached(CommandSender sender, String message) {
+        if (message == null || message.isEmpty()) return;
+
+        if (sender instanceof Player && adventure != null) {
+            adventure.sender(sender).sendMessage(deserializeUncached(message));
+        } else {
+            sender.sendMessage(ChatColor.translateAlternateColorCodes('&', message));
+        }
+    }
+
+    // Send an already deserialized message to a CommandSender
+    public static void sendMessage(CommandSender sender, Component message) {
+        if (message == null) return;
+
+        if (adventure != null) {
+            adventure.sender(sender).sendMessage(message);
+        } else {
+            sender.sendMessage(LegacyComponentSerializer.legacySection().serialize(message));
+        }
+    }
+
+    // Deserialize a message using MiniMessage, reusing the cached component if the message was seen before
     public static Component deserialize(String message) {
+        if (message == null || message.isEmpty()) {
+            return Component.empty();
+        }
+        Component cached = cache.get(message);
+        if (cached != null) {
+            return cached;
+        }
+        Component component = deserializeUncached(message);
+        cache.put(message, component);
+        return component;
+    }
+
+    // Deserialize a message without touching the cache, for messages that are unlikely to repeat
+    public static Component deserializeUncached(String message) {
         if (message == null || message.isEmpty()) {
             return Component.empty();
         }
@@ -56,6 +104,84 @@ public class MessageUtils {
         }
     }
 
+    // Resize the component cache, dropping every cached message
+    public static void configureCache(int maxEntries, int maxWeight) {
+        cache.configure(maxEntries, maxWeight);
+    }
+
+    // Drop every cached message, e.g. after the configuration was reloaded
+    public static void clearCache() {
+        cache.clear();
+    }
+
+    public static long getCacheHits() {
+        return cache.hits.sum();
+    }
+
+    public static long getCacheMisses() {
+        return cache.misses.sum();
+    }
+
+    public static int getCacheSize() {
+        return cache.size();
+    }
+
+    // Bounded LRU cache from raw message to component; the weight of an entry is the length of its message
+    private static final class ComponentCache {
+        private final LinkedHashMap<String, Component> entries = new LinkedHashMap<>(64, 0.75f, true);
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+        private int maxEntries;
+        private int maxWeight;
+        private int weight;
+
+        private ComponentCache(int maxEntries, int maxWeight) {
+            this.maxEntries = maxEntries;
+            this.maxWeight = maxWeight;
+        }
+
+        private synchronized Component get(String message) {
+            Component component = entries.get(message);
+            if (component != null) {
+                hits.increment();
+            } else {
+                misses.increment();
+            }
+            return component;
+        }
+
+        private synchronized void put(String message, Component component) {
+            // Skip messages that would take a large share of the cache on their own
+            if (maxEntries <= 0 || message.length() > maxWeight / 8) {
+                return;
+            }
+            if (entries.put(message, component) == null) {
+                weight += message.length();
+            }
+
+            Iterator<String> eldest = entries.keySet().iterator();
+            while ((entries.size() > maxEntries || weight > maxWeight) && eldest.hasNext()) {
+                weight -= eldest.next().length();
+                eldest.remove();
+            }
+        }
+
+        private synchronized void configure(int maxEntries, int maxWeight) {
+            this.maxEntries = maxEntries;
+            this.maxWeight = maxWeight;
+            clear();
+        }
+
+        private synchronized void clear() {
+            entries.clear();
+            weight = 0;
+        }
+
+        private synchronized int size() {
+            return entries.size();
+        }
+    }
+
     // Process <centered> tags in the input string
     private static String processCenteredTags(String input) {
         StringBuilder result = new StringBuilder();
@@ -134,96 +260,21 @@ public class MessageUtils {
     // Strip color codes from the input string
     private static String stripColor(String input) {
         // Remove legacy color codes
-        input = input.replaceAll("§[0-9a-fk-or]", "");
+        input = LEGACY_CODE_PATTERN.matcher(input).replaceAll("");
         // Remove MiniMessage tags
-        input = input.replaceAll("<[^>]*>", "");
+        input = TAG_PATTERN.matcher(input).replaceAll("");
         // Remove hex color codes
-        input = input.replaceAll("&#[A-Fa-f0-9]{6}", "");
+        input = HEX_CODE_PATTERN.matcher(input).replaceAll("");
         return input;
     }
 
     // Convert legacy and hex color codes to MiniMessage format
     public static String convertLegacyAndHexToMiniMessage(String input) {
-        if (input == null) return null;
-        String result = ChatColor.translateAlternateColorCodes('&', input);
-        result = result.replaceAll("&#([A-Fa-f0-9]{6})", "<#$1>");
-        return convertLegacyToMiniMessage(result);
-    }
-
-    // Convert legacy color codes to MiniMessage format
-    private static String convertLegacyToMiniMessage(String input) {
-        return input.replace("§0", "<black>")
-                   .replace("§1", "<dark_blue>")
-                   .replace("§2", "<dark_green>")
-                   .replace("§3", "<dark_aqua>")
-                   .replace("§4", "<dark_red>")
-                   .replace("§5", "<dark_purple>")
-                   .replace("§6", "<gold>")
-                   .replace("§7", "<gray>")
-                   .replace("§8", "<dark_gray>")
-                   .replace("§9", "<blue>")
-                   .replace("§a", "<green>")
-                   .replace("§b", "<aqua>")
-                   .replace("§c", "<red>")
-                   .replace("§d", "<light_purple>")
-                   .replace("§e", "<yellow>")
-                   .replace("§f", "<white>")
-                   .replace("§l", "<bold>")
-                   .replace("§m", "<strikethrough>")
-                   .replace("§n", "<underline>")
-                   .replace("§o", "<italic>")
-                   .replace("§r", "<reset>");
+        return ColorTranslator.legacyToMiniMessage(input);
     }
 
     // Convert MiniMessage format to legacy color codes for holograms
     public static String miniMessageToLegacy(String input) {
-        if (input == null) return null;
-        
-        return input.replace("<black>", "§0")
-                   .replace("<dark_blue>", "§1")
-                   .replace("<dark_green>", "§2")
-                   .replace("<dark_aqua>", "§3")
-                   .replace("<dark_red>", "§4")
-                   .replace("<dark_purple>", "§5")
-                   .replace("<gold>", "§6")
-                   .replace("<gray>", "§7")
-                   .replace("<dark_gray>", "§8")
-                   .replace("<blue>", "§9")
-                   .replace("<green>", "§a")
-                   .replace("<aqua>", "§b")
-                   .replace("<red>", "§c")
-                   .replace("<light_purple>", "§d")
-                   .replace("<yellow>", "§e")
-                   .replace("<white>", "§f")
-                   .replace("<bold>", "§l")
-                   .replace("<strikethrough>", "§m")
-                   .replace("<underline>", "§n")
-                   .replace("<italic>", "§o")
-                   .replace("<reset>", "§r")
-                   // Handle closing tags
-                   .replace("</black>", "§r")
-                   .replace("</dark_blue>", "§r")
-                   .replace("</dark_green>", "§r")
-                   .replace("</dark_aqua>", "§r")
-                   .replace("</dark_red>", "§r")
-                   .replace("</dark_purple>", "§r")
-                   .replace("</gold>", "§r")
-                   .replace("</gray>", "§r")
-                   .replace("</dark_gray>", "§r")
-                   .replace("</blue>", "§r")
-                   .replace("</green>", "§r")
-                   .replace("</aqua>", "§r")
-                   .replace("</red>", "§r")
-                   .replace("</light_purple>", "§r")
-                   .replace("</yellow>", "§r")
-                   .replace("</white>", "§r")
-                   .replace("</bold>", "§r")
-                   .replace("</strikethrough>", "§r")
-                   .replace("</underline>", "§r")
-                   .replace("</italic>", "§r")
-                   .replace("</reset>", "")
-                   // Handle hex colors
-                   .replaceAll("<#([A-Fa-f0-9]{6})>", "§x§$1")
-                   .replaceAll("</#([A-Fa-f0-9]{6})>", "§r");
+        return ColorTranslator.miniMessageToLegacy(input);
     }
 }